@@ -19,8 +19,7 @@
 package connectx;
 
 import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.TreeSet;
+import java.util.Random;
 //import java.util.stream.Collectors;
 
 /**
@@ -50,9 +49,42 @@ public class CXBoard {
 	// grid for the board
 	protected CXCellState[][] B;
 
-	protected LinkedList<CXCell> MC;   // Marked Cells stack (used to undo)
-	protected int                RP[]; // First free row position
-	protected TreeSet<Integer>   AC;   // Availabe (not full) columns
+	// Marked Cells stack (used to undo). Each move is packed as (i*N + j)*2 + p,
+	// where i,j is the marked cell and p the id of the player who marked it
+	protected int  MC[];
+	protected int  MCsize; // Number of moves in the MC stack
+	protected int  RP[];   // First free row position
+	protected long AC[];   // Availabe (not full) columns, one bit per column
+
+	// CXCell views of the packed moves, created on demand (CXCell is immutable,
+	// so a single instance per cell and player is enough)
+	private CXCell[] CC;
+
+	// Bitboards, one per player. Cells are stored column by column, each column
+	// taking H = M+1 bits: the extra top bit is always empty and keeps alignments
+	// from wrapping from one column into the next. Cell i,j is bit j*H + (M-1-i),
+	// so bit 0 is the bottom cell of column 0.
+	protected final int H;
+	protected long      BB[];   // Player bitboards, when the whole board fits in one word
+	protected long      WB[][]; // Player bitboards (multi-word), for larger boards
+
+	// Per-direction shift sequences used to detect X aligned bits on a one-word board
+	// (vertical, horizontal, diagonal, anti-diagonal). A null entry means that no
+	// alignment fits in that direction.
+	private int[][] SH;
+
+	// Zobrist hashing (optional): ZT holds one random key per cell and player,
+	// indexed as the packed moves in MC, and is null when hashing is disabled.
+	// ZK is the key of the current position, i.e. the xor of the keys of all
+	// the marked cells.
+	private long[] ZT;
+	private long   ZS; // Seed used to generate ZT
+	private long   ZK;
+	private long   ZM; // Key of the horizontally mirrored position
+
+	// Number of pairs of mirror cells (i,j), (i,N-1-j) in different states:
+	// the position is symmetric if there is none
+	private int AS;
 	
 	// we define characters for players (PR for Red, PY for Yellow)
 	private final CXCellState[] Player = {CXCellState.P1, CXCellState.P2};
@@ -61,6 +93,10 @@ public class CXBoard {
 
 	protected CXGameState gameState; // game state
 
+	// True if the arrays of this board may be shared with a snapshot: they
+	// are cloned before the next change (copy on write)
+	private boolean shared;
+
 
 	/**
 	 * Create a board of size MxN and initialize the game parameters
@@ -84,19 +120,63 @@ public class CXBoard {
 		this.X = X;
 
 		B  = new CXCellState[M][N];
-		MC = new LinkedList<CXCell>();
+		MC = new int[M*N];
 		RP = new int[N];
-		AC = new TreeSet<Integer>();
+		AC = new long[(N + Long.SIZE - 1) / Long.SIZE];
+
+		H = M + 1;
+		if ((long) N * H <= Long.SIZE) {
+			BB = new long[2];
+			SH = new int[][] {alignShifts(1), alignShifts(H), alignShifts(H + 1), alignShifts(H - 1)};
+		} else {
+			WB = new long[2][(int) (((long) N * H + Long.SIZE - 1) / Long.SIZE)];
+		}
 		reset();
 
 	}
 
+	// Copy constructor: copies the state of board S into the new board. If share
+	// is true, the arrays of S are shared and both boards copy them on write
+	private CXBoard(CXBoard S, boolean share) {
+		M  = S.M;
+		N  = S.N;
+		X  = S.X;
+		H  = S.H;
+		SH = S.SH;
+		CC = S.CC;
+		ZT = S.ZT;
+		ZS = S.ZS;
+		ZK = S.ZK;
+		ZM = S.ZM;
+		AS = S.AS;
+
+		B      = S.B;
+		MC     = S.MC;
+		MCsize = S.MCsize;
+		RP     = S.RP;
+		AC     = S.AC;
+		BB     = S.BB;
+		WB     = S.WB;
+
+		currentPlayer = S.currentPlayer;
+		gameState     = S.gameState;
+
+		if (share)
+			S.shared = this.shared = true;
+		else
+			cloneArrays();
+	}
+
 	/**
 	 * Resets the CXBoard
 	 */
 	public void reset() {
+		if (shared) cloneArrays();
 		currentPlayer = 0;
 		gameState     = CXGameState.OPEN;
+		ZK            = 0;
+		ZM            = 0;
+		AS            = 0;
 		initBoard();
 		initDataStructures();
 	}
@@ -110,12 +190,34 @@ public class CXBoard {
 
 	//Resets the marked cells list and other data structures
 	private void initDataStructures() {
-		this.MC.clear();
-		this.AC.clear();
+		this.MCsize = 0;
+		Arrays.fill(AC, 0L);
 		for (int j = 0; j < N; j++) {
 			RP[j] = M-1;
-			AC.add(j);
+			AC[j >>> 6] |= 1L << j;
 		}
+		if (BB != null)
+			Arrays.fill(BB, 0L);
+		else
+			for (long[] W : WB)
+				Arrays.fill(W, 0L);
+	}
+
+	// Shifts which, applied in sequence as b &= b >>> s, leave set only the bits
+	// starting a run of X cells at distance d from each other (doubling the run
+	// length at each step). Returns null if such a run cannot fit in one word.
+	private int[] alignShifts(int d) {
+		if ((long) d * (X - 1) >= Long.SIZE)
+			return null;
+		int n = 0;
+		for (int len = 1; 2 * len <= X; len *= 2) n++;
+		int[] S = new int[Integer.bitCount(X) == 1 ? n : n + 1];
+		int len = 1;
+		for (int k = 0; k < n; k++, len *= 2)
+			S[k] = len * d;
+		if (len < X)
+			S[n] = (X - len) * d;
+		return S;
 	}
 
 	/**
@@ -146,16 +248,31 @@ public class CXBoard {
 		return  col < 0 || col >= N || RP[col] == -1; 
 	}
 
+	/**
+	 * Returns the row of the cell a move on a column would mark
+	 *
+	 * @param col column number
+	 *
+	 * @return row index, or -1 if the column is full
+	 *
+	 * @throws IndexOutOfBoundsException If col is outside matrix bounds
+	 */
+	public int freeRow(int col) throws IndexOutOfBoundsException {
+		if (col < 0 || col >= N)
+			throw new IndexOutOfBoundsException("Index " + col + " out of matrix bounds\nColumn must be between 0 and " + (N - 1));
+		return RP[col];
+	}
+
 	/**
 	 * Retrieves the last move
 	 *
 	 * @return CXCell object or null
 	 */
 	public CXCell getLastMove() {
-		if (MC.size() == 0) 
+		if (MCsize == 0) 
 			return null;
 		else 
-			return MC.peekLast();
+			return cell(MC[MCsize-1]);
 	}
 
 	/**
@@ -182,7 +299,7 @@ public class CXBoard {
 	 * @return number of free cells
 	 */
 	public int numOfFreeCells() {
-		return M*N-MC.size();
+		return M*N-MCsize;
 	}
 	
 	/**
@@ -191,7 +308,7 @@ public class CXBoard {
 	 * @return number of marked cells
 	 */
 	public int numOfMarkedCells() {
-		return MC.size();
+		return MCsize;
 	}
 
 	/**
@@ -207,17 +324,27 @@ public class CXBoard {
 		} else if (RP[col] == -1) {          // Column full
 			throw new IllegalStateException("Column " + col + " is full.");
 		} else {
+			if (shared) cloneArrays();
 			int row = RP[col]--;
-			if (RP[col] == -1) AC.remove(col);
+			if (RP[col] == -1) AC[col >>> 6] &= ~(1L << col);
+			if (2*col != N-1) { // The central column is its own mirror
+				CXCellState m = B[row][N-1-col];
+				if (m == CXCellState.FREE) AS++;
+				else if (m == Player[currentPlayer]) AS--;
+			}
 			B[row][col] = Player[currentPlayer];
-			CXCell newc = new CXCell(row, col, Player[currentPlayer]);
-			MC.add(newc); // Add move to the history
+			MC[MCsize++] = (row*N + col)*2 + currentPlayer; // Add move to the history
+			flipBit(currentPlayer, row, col);
+			if (ZT != null) {
+				ZK ^= ZT[MC[MCsize-1]];
+				ZM ^= ZT[MC[MCsize-1] + 2*(N-1-2*col)];
+			}
 
 			currentPlayer = (currentPlayer + 1) % 2;
 
 			if (isWinningMove(row, col))
 				gameState = B[row][col] == CXCellState.P1 ? CXGameState.WINP1 : CXGameState.WINP2;
-			else if (MC.size() == M * N)
+			else if (MCsize == M * N)
 				gameState = CXGameState.DRAW;
 
 			return gameState;
@@ -230,17 +357,29 @@ public class CXBoard {
 	 * @throws IllegalStateException If there is no move to undo
 	 */
 	public void unmarkColumn() throws IllegalStateException {
-		if (MC.size() == 0) {
+		if (MCsize == 0) {
 			throw new IllegalStateException("No move to undo");
 		} else {
-			CXCell oldc = MC.removeLast();
-
-			B[oldc.i][oldc.j] = CXCellState.FREE;
-			RP[oldc.j]++;
-			if(RP[oldc.j] == 0) AC.add(oldc.j); 
+			if (shared) cloneArrays();
+			int k = MC[--MCsize] >> 1;
+			int i = k / N, j = k - i*N;
+			if (ZT != null) {
+				ZK ^= ZT[MC[MCsize]];
+				ZM ^= ZT[MC[MCsize] + 2*(N-1-2*j)];
+			}
+
+			B[i][j] = CXCellState.FREE;
+			if (2*j != N-1) {
+				CXCellState m = B[i][N-1-j];
+				if (m == CXCellState.FREE) AS--;
+				else if (m == Player[MC[MCsize] & 1]) AS++;
+			}
+			RP[j]++;
+			if(RP[j] == 0) AC[j >>> 6] |= 1L << j; 
 
 			currentPlayer = (currentPlayer + 1) % 2;
 			gameState = CXGameState.OPEN;
+			flipBit(currentPlayer, i, j);
 		}
 	}
 
@@ -254,7 +393,10 @@ public class CXBoard {
 	 * @return List of marked cells
 	 */
 	public CXCell[] getMarkedCells() {
-		return MC.toArray(new CXCell[MC.size()]);
+		CXCell[] C = new CXCell[MCsize];
+		for (int k = 0; k < MCsize; k++)
+			C[k] = cell(MC[k]);
+		return C;
 	}
 
 	/**
@@ -266,9 +408,184 @@ public class CXBoard {
    * @return List of available column indexes 
    */
   public Integer[] getAvailableColumns() {
-		return AC.toArray(new Integer[AC.size()]);
+		Integer[] L = new Integer[numOfAvailableColumns()];
+		int n = 0;
+		for (int w = 0; w < AC.length; w++)
+			for (long b = AC[w]; b != 0; b &= b - 1)
+				L[n++] = (w << 6) + Long.numberOfTrailingZeros(b);
+		return L;
   }
 
+	/**
+	 * Enables the Zobrist hashing of the board positions.
+	 * <p>
+	 * From now on the board maintains a 64-bit key of the current position,
+	 * updated at every mark and unmark and returned by <code>hash()</code>.
+	 * Boards of the same size hashed with the same seed give the same key to
+	 * the same position, so keys computed on different copies of the board
+	 * (e.g. at different moves of a game) can be compared. Copies of a board
+	 * inherit its hashing settings.
+	 * </p>
+	 *
+	 * @param seed Seed of the random cell keys
+	 */
+	public void enableHashing(long seed) {
+		if (ZT != null && ZS == seed)
+			return;
+
+		Random R = new Random(seed);
+		ZT = new long[2*M*N];
+		for (int k = 0; k < ZT.length; k++)
+			ZT[k] = R.nextLong();
+		ZS = seed;
+
+		ZK = ZM = 0;
+		for (int k = 0; k < MCsize; k++) {
+			int j = (MC[k] >> 1) % N;
+			ZK ^= ZT[MC[k]];
+			ZM ^= ZT[MC[k] + 2*(N-1-2*j)];
+		}
+	}
+
+	/**
+	 * Returns the Zobrist key of the current position.
+	 *
+	 * @return 64-bit position key
+	 * @throws IllegalStateException If hashing has not been enabled
+	 *
+	 * @see #enableHashing(long)
+	 */
+	public long hash() throws IllegalStateException {
+		if (ZT == null)
+			throw new IllegalStateException("Hashing not enabled");
+		return ZK;
+	}
+
+	/**
+	 * Returns the canonical Zobrist key of the current position.
+	 * <p>
+	 * A position and its horizontal mirror image have the same canonical key:
+	 * the smallest between their keys. Positions stored under the canonical
+	 * key must store columns through <code>canonicalColumn</code>.
+	 * </p>
+	 *
+	 * @return 64-bit canonical position key
+	 * @throws IllegalStateException If hashing has not been enabled
+	 *
+	 * @see #enableHashing(long)
+	 */
+	public long canonicalHash() throws IllegalStateException {
+		if (ZT == null)
+			throw new IllegalStateException("Hashing not enabled");
+		return Math.min(ZK, ZM);
+	}
+
+	/**
+	 * Maps a column between the current position and its canonical orientation.
+	 * <p>
+	 * Returns <code>N-1-col</code> if the canonical key of the position is the
+	 * key of its mirror image, <code>col</code> otherwise. The mapping is its
+	 * own inverse, so it converts columns both to and from the canonical
+	 * orientation. Indexes outside the matrix bounds (e.g. -1 used as "no
+	 * column") are returned unchanged.
+	 * </p>
+	 *
+	 * @param col column index
+	 *
+	 * @return column index in the other orientation
+	 * @throws IllegalStateException If hashing has not been enabled
+	 *
+	 * @see #canonicalHash()
+	 */
+	public int canonicalColumn(int col) throws IllegalStateException {
+		return canonicalHash() == ZK || col < 0 || col >= N ? col : N-1-col;
+	}
+
+	/**
+	 * Check whether the position is horizontally symmetric.
+	 * <p>
+	 * Takes constant time: the board keeps track of the pairs of mirror cells
+	 * in different states. Does not require hashing.
+	 * </p>
+	 *
+	 * @return true if every cell has the same state as its mirror cell
+	 */
+	public boolean isSymmetric() {
+		return AS == 0;
+	}
+
+	/**
+	 * Returns the number of still available columns.
+	 *
+	 * @return number of available (not full) columns
+	 */
+	public int numOfAvailableColumns() {
+		int n = 0;
+		for (long w : AC)
+			n += Long.bitCount(w);
+		return n;
+	}
+
+	/**
+	 * Returns the still available columns as a bitmask.
+	 * <p>
+	 * Bit <code>j</code> is set if column <code>j</code> is not full. Only
+	 * available for boards with at most 64 columns: use
+	 * <code>nextAvailableColumn</code> or <code>fillAvailableColumns</code>
+	 * otherwise.
+	 * </p>
+	 *
+	 * @return Bitmask of available column indexes
+	 * @throws IllegalStateException If the board has more than 64 columns
+	 */
+	public long getAvailableColumnsMask() throws IllegalStateException {
+		if (AC.length > 1)
+			throw new IllegalStateException("Board has more than " + Long.SIZE + " columns");
+		return AC[0];
+	}
+
+	/**
+	 * Stores the still available columns in an array, without allocating.
+	 * <p>
+	 * Column indexes are stored in increasing order in the first positions of
+	 * <code>L</code>. An array of length <code>N</code> is always large enough.
+	 * </p>
+	 *
+	 * @param L Array receiving the available column indexes
+	 *
+	 * @return Number of available columns stored in <code>L</code>
+	 * @throws IndexOutOfBoundsException If <code>L</code> is too small
+	 */
+	public int fillAvailableColumns(int[] L) throws IndexOutOfBoundsException {
+		int n = 0;
+		for (int w = 0; w < AC.length; w++)
+			for (long b = AC[w]; b != 0; b &= b - 1)
+				L[n++] = (w << 6) + Long.numberOfTrailingZeros(b);
+		return n;
+	}
+
+	/**
+	 * Returns the first available column starting from column <code>col</code>.
+	 * <p>
+	 * Available columns can be visited, without allocating, with:<br>
+	 * <code>for (int j = B.nextAvailableColumn(0); j != -1; j = B.nextAvailableColumn(j+1))</code>
+	 * </p>
+	 *
+	 * @param col First column index to check
+	 *
+	 * @return Smallest available column index &gt;= <code>col</code>, or -1 if there is none
+	 */
+	public int nextAvailableColumn(int col) {
+		if (col < 0)
+			col = 0;
+		for (int w = col >>> 6; w < AC.length; w++) {
+			long b = w == col >>> 6 ? AC[w] & (-1L << col) : AC[w];
+			if (b != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(b);
+		}
+		return -1;
+	}
+
 	/**
    * Returns a copy of the main board
    *
@@ -286,49 +603,115 @@ public class CXBoard {
 
 	/**
 	 * Returns a copy of the CXBoard object
+	 * <p>
+	 * The board state is cloned, moves are not replayed: the cost depends only
+	 * on the board size.
+	 * </p>
 	 *
 	 * @return A CXBoard
 	 */
 	public CXBoard copy() {
-		CXBoard C = new CXBoard(M,N,X);
-		for(CXCell c : this.getMarkedCells())
-			C.markColumn(c.j);
-		return C;
+		return new CXBoard(this, false);
   }
 
+	/**
+	 * Returns a copy-on-write snapshot of the CXBoard object
+	 * <p>
+	 * The snapshot shares its state with this board and takes constant time.
+	 * Boards are otherwise independent: the first change to either of them
+	 * (mark, unmark, reset) makes a private copy of the shared state. This is
+	 * the cheapest way to hand a board to a reader which does not change it.
+	 * </p>
+	 *
+	 * @return A CXBoard
+	 */
+	public CXBoard snapshot() {
+		return new CXBoard(this, true);
+	}
+
+	// Replaces the (possibly shared) arrays of this board with private copies
+	private void cloneArrays() {
+		CXCellState[][] C = new CXCellState[M][];
+		for (int i = 0; i < M; i++)
+			C[i] = B[i].clone();
+		B  = C;
+		MC = MC.clone();
+		RP = RP.clone();
+		AC = AC.clone();
+		if (BB != null) {
+			BB = BB.clone();
+		} else {
+			long[][] W = new long[2][];
+			for (int p = 0; p < 2; p++)
+				W[p] = WB[p].clone();
+			WB = W;
+		}
+		shared = false;
+	}
+
+
+	// Returns the CXCell view of a packed move
+	private CXCell cell(int move) {
+		if (CC == null)
+			CC = new CXCell[2*M*N];
+		CXCell c = CC[move];
+		if (c == null) {
+			int k = move >> 1;
+			c = CC[move] = new CXCell(k / N, k % N, Player[move & 1]);
+		}
+		return c;
+	}
+
+	// Toggles the bit of cell i,j in the bitboard of player p
+	private void flipBit(int p, int i, int j) {
+		int k = j * H + (M - 1 - i);
+		if (BB != null)
+			BB[p] ^= 1L << k;
+		else
+			WB[p][k >>> 6] ^= 1L << k;
+	}
 
 	// Check winning state from cell i, j
 	private boolean isWinningMove(int i, int j) {
-		CXCellState s = B[i][j];
-		int n;
+		int p = B[i][j] == CXCellState.P1 ? 0 : 1;
 
 		// Useless pedantic check
-		if (s == CXCellState.FREE)
+		if (B[i][j] == CXCellState.FREE)
 			return false;
 
-		// Horizontal check
-		n = 1;
-		for (int k = 1; j-k >= 0 && B[i][j-k] == s; k++) n++; // backward check
-		for (int k = 1; j+k <  N && B[i][j+k] == s; k++) n++; // forward check
-		if (n >= X) return true;
-
-		// Vertical check
-		n = 1;
-		for (int k = 1; i+k <  M && B[i+k][j] == s; k++) n++;
-		if (n >= X) return true;
-
-		// Diagonal check
-		n = 1;
-		for (int k = 1; i-k >= 0 && j-k >= 0 && B[i-k][j-k] == s; k++) n++; // backward check
-		for (int k = 1; i+k <  M && j+k <  N && B[i+k][j+k] == s; k++) n++; // forward check
-		if (n >= X) return true;
-
-		// Anti-diagonal check
-		n = 1;
-		for (int k = 1; i-k >= 0 && j+k <  N && B[i-k][j+k] == s; k++) n++; // backward check
-		for (int k = 1; i+k <  M && j-k >= 0 && B[i+k][j-k] == s; k++) n++; // forward check
-		if (n >= X) return true;
-
-		return false;
+		if (BB != null) {
+			// No alignment existed before this move, so any run found on the
+			// whole board goes through cell i,j
+			for (int[] S : SH)
+				if (S != null && aligned(BB[p], S))
+					return true;
+			return false;
+		}
+
+		long[] W = WB[p];
+		int k = j * H + (M - 1 - i);
+		return run(W, k, H) + run(W, k, -H) + 1 >= X          // Horizontal check
+		    || run(W, k, -1) + 1 >= X                         // Vertical check
+		    || run(W, k, H + 1) + run(W, k, -H - 1) + 1 >= X  // Diagonal check
+		    || run(W, k, H - 1) + run(W, k, -H + 1) + 1 >= X; // Anti-diagonal check
+	}
+
+	// True if the one-word bitboard b has X aligned bits along the direction
+	// described by the shift sequence S
+	private static boolean aligned(long b, int[] S) {
+		for (int s : S)
+			b &= b >>> s;
+		return b != 0;
+	}
+
+	// Number of consecutive set bits in the multi-word bitboard W, starting from
+	// the bit next to k and moving by d bits at a time. Moving off the top or the
+	// bottom of a column always hits an (empty) sentinel bit.
+	private int run(long[] W, int k, int d) {
+		int n = 0;
+		for (k += d; k >= 0 && k < N * H && n < X; k += d, n++)
+			if ((W[k >>> 6] & (1L << k)) == 0)
+				break;
+		return n;
 	}
 }
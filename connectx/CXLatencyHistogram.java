@@ -0,0 +1,119 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations, in microseconds, with a relative error below 2%
+ * over any range of values.
+ * <p>
+ * The values below 128 have a bucket each; the larger ones are split into
+ * the powers of two they fall in, and each power of two into 64 buckets of
+ * the same width, so that the buckets grow with the values. Percentiles are
+ * returned as the largest value of their bucket, within the smallest and
+ * largest durations; the maximum is exact.
+ * </p>
+ */
+class CXLatencyHistogram {
+	private static final int SUB_BITS = 6;                   // 2^SUB_BITS buckets for each power of two
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int LINEAR = 2 * SUB_BUCKETS;        // values with a bucket each
+
+	private long[] counts = new long[LINEAR];
+	private long count = 0;
+	private long min = Long.MAX_VALUE; // bounds the percentiles from below
+	private long max = 0;
+
+	/**
+	 * Adds a duration
+	 *
+	 * @param micros Duration in microseconds, negative values count as 0
+	 */
+	void record(long micros) {
+		long v = Math.max(micros, 0);
+		int i = index(v);
+		if (i >= counts.length)
+			counts = Arrays.copyOf(counts, Math.max(i + 1, 2 * counts.length));
+		counts[i]++;
+		count++;
+		min = Math.min(min, v);
+		max = Math.max(max, v);
+	}
+
+	/**
+	 * Returns the number of durations
+	 *
+	 * @return Number of durations
+	 */
+	long count() {
+		return count;
+	}
+
+	/**
+	 * Returns the largest duration
+	 *
+	 * @return Largest duration in microseconds, 0 if there are none
+	 */
+	long max() {
+		return max;
+	}
+
+	/**
+	 * Returns a percentile of the durations
+	 *
+	 * @param p Percentile, between 0 and 100
+	 *
+	 * @return Duration in microseconds which the given percentage of the
+	 *         durations does not exceed, 0 if there are none
+	 *
+	 * @throws IllegalArgumentException If p is not between 0 and 100
+	 */
+	long percentile(double p) throws IllegalArgumentException {
+		if (p < 0 || p > 100)
+			throw new IllegalArgumentException("Percentile out of range: " + p);
+		if (count == 0)
+			return 0;
+		long rank = Math.max((long) Math.ceil(p / 100 * count), 1);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(Math.max(highest(i), min), max);
+		}
+		return max;
+	}
+
+	// Bucket of a value
+	private static int index(long v) {
+		if (v < LINEAR)
+			return (int) v;
+		int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS; // v >> shift is in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+		return LINEAR + (shift - 1) * SUB_BUCKETS + (int) (v >> shift) - SUB_BUCKETS;
+	}
+
+	// Largest value of a bucket
+	private static long highest(int i) {
+		if (i < LINEAR)
+			return i;
+		int shift = (i - LINEAR) / SUB_BUCKETS + 1;
+		long sub = (i - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((sub + 1) << shift) - 1;
+	}
+}
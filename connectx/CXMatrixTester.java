@@ -0,0 +1,294 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the games of a test matrix in a single JVM and prints a report of
+ * the scores, as <code>CXPlayerTester</code> does for a single game type.
+ * <p>
+ * Usage: CXMatrixTester [config file] [key=value ...]<br>
+ * The test matrix is read from a properties file, whose keys can be
+ * overridden on the command line:<br>
+ * M, N, X  Ranges of the game types, e.g. <code>4-7</code> or <code>4,6</code></br>
+ * boards  Additional game types, e.g. <code>20x20x10, 30x30x10</code></br>
+ * players  Classes of the first players</br>
+ * opponents  Classes of the second players</br>
+ * rounds  Number of rounds of each game. Default: 1</br>
+ * timeout  Timeout in seconds. Default: 10</br>
+ * threads  Number of games played at the same time. Default: 1</br>
+ * output  File of the records of the games, CSV (.csv) or JSON Lines</br>
+ * verbose  Verbose. Default: false
+ * </p>
+ * <p>
+ * Every player plays every opponent on every game type. Game types of the
+ * ranges where X is larger than both M and N cannot be won, and are skipped.
+ * Each game is played by new instances of the players. A player which
+ * cannot be initialized, or which cannot be stopped, loses the game and
+ * ends its match, while the other matches go on. The record of each
+ * game is appended to the output file, as with the -o option of
+ * <code>CXPlayerTester</code>. The report ends with the percentiles of the
+ * time taken by the moves of each player, by game type and by game phase.
+ * </p>
+ */
+public class CXMatrixTester {
+	private static int TIMEOUT = 10;
+	private static int ROUNDS = 1;
+	private static int THREADS = 1;
+	private static boolean VERBOSE = false;
+	private static String OUTPUT = null;
+
+	private static List<int[]> Boards = new ArrayList<int[]>();
+	private static List<String> Players = new ArrayList<String>();
+	private static List<String> Opponents = new ArrayList<String>();
+
+	private CXMatrixTester() {
+	}
+
+	/** Games between two players on one game type */
+	private static class Match {
+		final int M, N, X;
+		final String P1, P2;
+		final CXPlayerTester.Score score;
+		final AtomicBoolean stop = new AtomicBoolean(false); // set when a player cannot be stopped
+
+		Match(int[] board, String P1, String P2, String name1, String name2) {
+			this.M = board[0];
+			this.N = board[1];
+			this.X = board[2];
+			this.P1 = P1;
+			this.P2 = P2;
+			this.score = new CXPlayerTester.Score(name1, name2, VERBOSE);
+		}
+	}
+
+	private static void parseArgs(String args[]) {
+		Properties config = new Properties();
+		for (String arg : args) {
+			int i = arg.indexOf('=');
+			if (i >= 0) {
+				config.setProperty(arg.substring(0, i).trim(), arg.substring(i + 1).trim());
+				continue;
+			}
+			Properties file = new Properties();
+			try (Reader in = new FileReader(arg)) {
+				file.load(in);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Cannot read the configuration file " + arg + ": " + e);
+			}
+			for (String key : file.stringPropertyNames())
+				if (!config.containsKey(key)) // the command line overrides the file, wherever it comes
+					config.setProperty(key, file.getProperty(key));
+		}
+
+		TIMEOUT = parseInt(config, "timeout", TIMEOUT);
+		ROUNDS = parseInt(config, "rounds", ROUNDS);
+		THREADS = parseInt(config, "threads", THREADS);
+		VERBOSE = Boolean.parseBoolean(config.getProperty("verbose", "false"));
+		OUTPUT = config.getProperty("output");
+		if (TIMEOUT <= 0 || ROUNDS <= 0 || THREADS <= 0)
+			throw new IllegalArgumentException("Arguments timeout, rounds, threads must be larger than 0");
+
+		if (config.containsKey("M") || config.containsKey("N") || config.containsKey("X")) {
+			for (int M : parseRange(config, "M"))
+				for (int N : parseRange(config, "N"))
+					for (int X : parseRange(config, "X"))
+						if (X <= Math.max(M, N))
+							Boards.add(new int[] { M, N, X });
+		}
+		for (String board : parseList(config, "boards")) {
+			String[] v = board.split("x");
+			if (v.length != 3)
+				throw new IllegalArgumentException("Illegal game type: " + board + " (expected MxNxX)");
+			try {
+				Boards.add(new int[] { Integer.parseInt(v[0].trim()), Integer.parseInt(v[1].trim()), Integer.parseInt(v[2].trim()) });
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Illegal integer format in game type: " + board);
+			}
+		}
+		for (int[] B : Boards)
+			if (B[0] <= 0 || B[1] <= 0 || B[2] <= 0)
+				throw new IllegalArgumentException("Arguments  M, N, X must be larger than 0");
+
+		Players = parseList(config, "players");
+		Opponents = parseList(config, "opponents");
+		if (Boards.isEmpty() || Players.isEmpty() || Opponents.isEmpty())
+			throw new IllegalArgumentException("Missing arguments:" + (Boards.isEmpty() ? " <M> <N> <X> or <boards>" : "")
+					+ (Players.isEmpty() ? " <players>" : "") + (Opponents.isEmpty() ? " <opponents>" : ""));
+	}
+
+	// Integer value of a key, def if the key is missing
+	private static int parseInt(Properties config, String key, int def) {
+		String value = config.getProperty(key);
+		if (value == null)
+			return def;
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Illegal integer format for " + key + " argument: " + value);
+		}
+	}
+
+	// Comma-separated values of a key, none if the key is missing
+	private static List<String> parseList(Properties config, String key) {
+		List<String> L = new ArrayList<String>();
+		for (String value : config.getProperty(key, "").split(","))
+			if (!value.trim().isEmpty())
+				L.add(value.trim());
+		return L;
+	}
+
+	// Values of a key made of integers and ranges of integers, e.g. 4-7,10
+	private static List<Integer> parseRange(Properties config, String key) {
+		List<Integer> L = new ArrayList<Integer>();
+		for (String value : parseList(config, key)) {
+			try {
+				int i = value.indexOf('-', 1);
+				if (i < 0)
+					L.add(Integer.parseInt(value));
+				else
+					for (int k = Integer.parseInt(value.substring(0, i).trim()); k <= Integer.parseInt(value.substring(i + 1).trim()); k++)
+						L.add(k);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Illegal range format for " + key + " argument: " + value);
+			}
+		}
+		if (L.isEmpty())
+			throw new IllegalArgumentException("Missing argument: <" + key + ">");
+		return L;
+	}
+
+	private static void printUsage() {
+		System.err.println("Usage: CXMatrixTester [config file] [key=value ...]");
+		System.err.println("KEYS:");
+		System.err.println("  M, N, X      Ranges of the game types, e.g. 4-7 or 4,6");
+		System.err.println("  boards       Additional game types, e.g. 20x20x10,30x30x10");
+		System.err.println("  players      Classes of the first players");
+		System.err.println("  opponents    Classes of the second players");
+		System.err.println("  rounds       Number of rounds of each game. Default: " + ROUNDS);
+		System.err.println("  timeout      Timeout in seconds. Default: " + TIMEOUT);
+		System.err.println("  threads      Number of games played at the same time. Default: " + THREADS);
+		System.err.println("  output       Appends the record of each game to file, CSV (.csv) or JSON Lines");
+		System.err.println("  verbose      Verbose. Default: " + VERBOSE);
+	}
+
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			printUsage();
+			System.exit(0);
+		}
+
+		List<Match> matches = new ArrayList<Match>();
+		CXResultWriter writer = null;
+		try {
+			parseArgs(args);
+			if (OUTPUT != null)
+				writer = new CXResultWriter(OUTPUT);
+			// the names of the players are printed in the report, and an instance checks the class is a player
+			Map<String, String> names = new LinkedHashMap<String, String>();
+			for (String P : Players)
+				names.put(P, CXPlayerTester.newPlayer(P).playerName());
+			for (String P : Opponents)
+				names.put(P, CXPlayerTester.newPlayer(P).playerName());
+			for (int[] B : Boards)
+				for (String P1 : Players)
+					for (String P2 : Opponents)
+						matches.add(new Match(B, P1, P2, names.get(P1), names.get(P2)));
+		} catch (Exception e) {
+			System.err.println(e);
+			System.exit(1);
+		}
+
+		// All the games are played by the same pool, in the order of the report
+		final CXResultWriter out = writer;
+		final CXPlayerTester.Latency times = new CXPlayerTester.Latency(TIMEOUT);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> games = new ArrayList<Future<?>>();
+		for (Match match : matches) {
+			for (int i = 1; i <= ROUNDS; i++) {
+				final int round = i;
+				games.add(pool.submit(() -> {
+					if (match.stop.get())
+						return;
+					String tag = match.M + "," + match.N + "," + match.X + " round " + round + ": ";
+					if (VERBOSE)
+						System.out.println("\n**** " + tag + match.P1 + " vs " + match.P2 + " ****");
+					CXPlayer[] Player = { CXPlayerTester.newPlayer(match.P1), CXPlayerTester.newPlayer(match.P2) };
+					CXPlayerTester.Game game = new CXPlayerTester.Game(match.M, match.N, match.X, Player, TIMEOUT, VERBOSE, tag);
+					CXPlayerTester.GameState state = game.init();
+					if (state != null)
+						match.stop.set(true); // a player which cannot be initialized loses its game and ends its match
+					else
+						state = game.run();
+					game.addTimes(times);
+					if (out != null)
+						game.write(out, round, state);
+					if (match.score.add(state))
+						match.stop.set(true);
+				}));
+			}
+		}
+		pool.shutdown();
+		try {
+			for (Future<?> game : games)
+				game.get();
+		} catch (InterruptedException | ExecutionException e) {
+			System.err.println(e);
+			System.exit(1);
+		}
+		if (out != null) {
+			try {
+				out.close();
+			} catch (IOException e) {
+				System.err.println("Error: cannot write the records of the games: " + e);
+			}
+		}
+
+		// Report: the scores of each game type, then the total of each pair of players
+		Map<String, CXPlayerTester.Score> totals = new LinkedHashMap<String, CXPlayerTester.Score>();
+		for (Match match : matches) {
+			System.out.println("Game type : " + match.M + "," + match.N + "," + match.X);
+			match.score.print();
+			String pair = match.P1 + " " + match.P2;
+			if (!totals.containsKey(pair))
+				totals.put(pair, new CXPlayerTester.Score(match.score.name[0], match.score.name[1], false));
+			totals.get(pair).add(match.score);
+		}
+		System.out.println("\n**** TOTAL SCORE (" + Boards.size() + " game types, " + ROUNDS + " rounds) ****");
+		for (CXPlayerTester.Score total : totals.values())
+			total.print();
+		times.print();
+
+		System.exit(0);
+	}
+
+}
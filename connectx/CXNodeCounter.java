@@ -0,0 +1,38 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx;
+
+public interface CXNodeCounter {
+	/**
+	 * Optional interface of the CXPlayers which count the nodes of the game
+	 * tree they search.
+	 * <p>
+	 * The testers record the count after each move of the players which
+	 * implement it.
+	 * </p>
+	 */
+
+	/**
+	 * Returns the number of nodes searched to select the last column
+	 *
+	 * @return number of nodes, by all the threads of the player
+	 */
+	public long searchedNodes();
+
+}
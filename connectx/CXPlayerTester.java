@@ -18,14 +18,21 @@
 
 package connectx;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Runs a game against two CXPlayer classes and prints the game scores:
@@ -40,20 +47,52 @@ import java.util.concurrent.TimeoutException;
  * OPTIONS:<br>
  * -t timeout&gt; Timeout in seconds</br>
  * -r rounds; Number of rounds</br>
+ * -j threads; Number of games played at the same time</br>
+ * -o file; File of the records of the games, CSV (.csv) or JSON Lines</br>
+ * -s elo0,elo1[,alpha,beta]; Sequential Probability Ratio Test</br>
  * -g graphic; Graphic terminal board -v Verbose
  * </p>
+ * <p>
+ * With more than one thread, every game is played on its own board by new
+ * instances of the two players, and the scores are added up as the games
+ * end. The players of concurrent games compete for the processors: the
+ * number of threads should leave each player the processors it uses.
+ * </p>
+ * <p>
+ * The record of each game (moves, time taken by each move, nodes searched
+ * by the players which are a <code>CXNodeCounter</code>, how the game
+ * ended) is appended to the file given with -o, for later analysis.
+ * </p>
+ * <p>
+ * With -s the two players play pairs of games with the colors swapped,
+ * until a Sequential Probability Ratio Test tells whether the Elo difference
+ * of the first player is elo0 (H0) or elo1 (H1), with the given error
+ * probabilities (0.05 by default), or the number of pairs set with -r is
+ * reached (10000 by default). The estimated Elo difference is printed with
+ * its 95% confidence interval.
+ * </p>
+ * <p>
+ * At the end of the run, the tester prints the percentiles of the time taken
+ * by the moves of each player, by game phase, and their margin from the
+ * timeout.
+ * </p>
  */
 public class CXPlayerTester {
 	private static int TIMEOUT = 10;
 	private static int ROUNDS = 1;
+	private static int THREADS = 1;
 	private static boolean VERBOSE = false;
+	private static String OUTPUT = null;
+	private static CXResultWriter Writer = null;
+	private static Sprt SPRT = null;
+	private static Latency Times = null;
+	private static boolean ROUNDS_SET = false; // whether -r was given: with -s, ROUNDS is the maximum number of pairs
 
 	private static int M;
 	private static int N;
 	private static int X;
 
-	private static CXBoard B;
-
+	private static String[] PlayerClass = new String[2];
 	private static CXPlayer[] Player = new CXPlayer[2];
 
 	/** Scoring system */
@@ -61,50 +100,13 @@ public class CXPlayerTester {
 	private static int DRAWSCORE = 1;
 	private static int ERRSCORE  = 3;
 
-	private enum GameState {
+	enum GameState {
 		WINP1, WINP2, DRAW, ERRP1, ERRP2, EP1EX, EP2EX;
 	}
 
 	private CXPlayerTester() {
 	}
 
-	private static void initGame() {
-		if (VERBOSE)
-			System.out.println("Initializing " + M + "," + N + " board");
-		B = new CXBoard(M, N, X);
-		// Timed-out initialization of the CXPlayers
-		for (int k = 0; k < 2; k++) {
-			if (VERBOSE)
-				if (VERBOSE)
-					System.out.println("Initializing " + Player[k].playerName() + " as Player " + (k + 1));
-			final int i = k; // need to have a final variable here
-			final Runnable initPlayer = new Thread() {
-				@Override
-				public void run() {
-					Player[i].initPlayer(B.M, B.N, B.X, i == 0, TIMEOUT);
-				}
-			};
-
-			final ExecutorService executor = Executors.newSingleThreadExecutor();
-			final Future<?> future = executor.submit(initPlayer);
-			executor.shutdown();
-			try {
-				future.get(TIMEOUT, TimeUnit.SECONDS);
-			} catch (TimeoutException e) {
-				System.err.println(
-						"Error: " + Player[i].playerName() + " interrupted: initialization takes too much time");
-				System.exit(1);
-			} catch (Exception e) {
-				System.err.println(e);
-				System.exit(1);
-			}
-			if (!executor.isTerminated())
-				executor.shutdownNow();
-		}
-		if (VERBOSE)
-			System.out.println();
-	}
-
 	private static class StoppablePlayer implements Callable<Integer> {
 		private final CXPlayer P;
 		private final CXBoard B;
@@ -119,88 +121,183 @@ public class CXPlayerTester {
 		}
 	}
 
-	private static GameState runGame() {
-		while (B.gameState() == CXGameState.OPEN) {
-			int curr = B.currentPlayer();
-			final ExecutorService executor = Executors.newSingleThreadExecutor();
-			final Future<Integer> task     = executor.submit(new StoppablePlayer(Player[curr], B.copy()));
-			executor.shutdown(); // Makes the ExecutorService stop accepting new tasks
-
-			Integer c = null;
+	/**
+	 * A game between two players. Each game has its own board, so that games
+	 * can be played at the same time by different threads
+	 */
+	static class Game {
+		private final CXBoard B;
+		private final CXPlayer[] Player;
+		private final int TIMEOUT;
+		private final boolean VERBOSE;
+		private final String tag; // Prefix of the messages of the game, to tell concurrent games apart
+
+		// Record of the game: columns played, time taken (ns) and nodes searched (-1 if not counted) for each move
+		private final List<Integer> columns = new ArrayList<Integer>();
+		private final List<Long> times = new ArrayList<Long>();
+		private final List<Long> nodes = new ArrayList<Long>();
+		private String error = null; // how a player failed, null if the game ended normally
+		private int timedOut = -1;   // the player which exceeded the timeout, -1 if none
+
+		Game(int M, int N, int X, CXPlayer[] Player, int TIMEOUT, boolean VERBOSE, String tag) {
+			this.B = new CXBoard(M, N, X);
+			this.Player = Player;
+			this.TIMEOUT = TIMEOUT;
+			this.VERBOSE = VERBOSE;
+			this.tag = tag;
+		}
 
-			try {
-				c = task.get(TIMEOUT, TimeUnit.SECONDS);
-			} catch (TimeoutException ex) {
-				int n = 3; // Wait some more time to see if it stops
-				System.err.println(
-						"Player " + (curr + 1) + " (" + Player[curr].playerName() + ") interrupted due to timeout");
-				while (!task.isDone() && n > 0) {
-					System.err.println("Waiting for " + Player[curr].playerName() + " to stop ... (" + n + ")");
-					try {
-						Thread.sleep(TIMEOUT * 1000);
-					} catch (InterruptedException e) {
+		// Initializes the players of the game. Returns the state of the game lost by a player which cannot be
+		// initialized, null if both players are ready
+		GameState init() {
+			if (VERBOSE)
+				System.out.println(tag + "Initializing " + B.M + "," + B.N + " board");
+			// Timed-out initialization of the CXPlayers
+			for (int k = 0; k < 2; k++) {
+				if (VERBOSE)
+					if (VERBOSE)
+						System.out.println(tag + "Initializing " + Player[k].playerName() + " as Player " + (k + 1));
+				final int i = k; // need to have a final variable here
+				final Runnable initPlayer = new Thread() {
+					@Override
+					public void run() {
+						Player[i].initPlayer(B.M, B.N, B.X, i == 0, TIMEOUT);
 					}
-					n--;
+				};
+
+				final ExecutorService executor = Executors.newSingleThreadExecutor();
+				final Future<?> future = executor.submit(initPlayer);
+				executor.shutdown();
+				try {
+					future.get(TIMEOUT, TimeUnit.SECONDS);
+				} catch (TimeoutException e) {
+					System.err.println(
+							tag + "Error: " + Player[i].playerName() + " interrupted: initialization takes too much time");
+					error = "initialization timeout";
+				} catch (Exception e) {
+					error = "initialization exception: " + (e.getCause() != null ? e.getCause() : e);
+					System.err.println(tag + "Error: " + Player[i].playerName() + " " + error);
 				}
+				if (!executor.isTerminated())
+					executor.shutdownNow();
+				if (error != null)
+					return i == 0 ? GameState.ERRP1 : GameState.ERRP2;
+			}
+			if (VERBOSE)
+				System.out.println();
+			return null;
+		}
 
-				if (n == 0) {
+		// Plays the game until it ends or a player fails
+		GameState run() {
+			while (B.gameState() == CXGameState.OPEN) {
+				int curr = B.currentPlayer();
+				final ExecutorService executor = Executors.newSingleThreadExecutor();
+				final long start = System.nanoTime();
+				final Future<Integer> task     = executor.submit(new StoppablePlayer(Player[curr], B.copy()));
+				executor.shutdown(); // Makes the ExecutorService stop accepting new tasks
+
+				Integer c = null;
+
+				try {
+					c = task.get(TIMEOUT, TimeUnit.SECONDS);
+				} catch (TimeoutException ex) {
+					error = "timeout";
+					timedOut = curr;
+					int n = 3; // Wait some more time to see if it stops
 					System.err.println(
-							"Player " + (curr + 1) + " (" + Player[curr].playerName() + ") still running: game closed");
-					return curr == 0 ? GameState.EP1EX : GameState.EP2EX;
-				} else {
-					System.err.println("Player " + (curr + 1) + " (" + Player[curr].playerName()
-							+ ") eventually stopped: round closed");
-					return curr == 0 ? GameState.ERRP1 : GameState.ERRP2;
-				}
-			} catch (Exception ex) {
-				int n = 3; // Wait some more time to see if it stops
-				System.err.println(
-						"Player " + (curr + 1) + " (" + Player[curr].playerName() + ") interrupted due to exception");
-				System.err.println(" " + ex);
-				while (!task.isDone() && n > 0) {
-					System.err.println("Waiting for " + Player[curr].playerName() + " to stop ... (" + n + ")");
-					try {
-						Thread.sleep(TIMEOUT * 1000);
-					} catch (InterruptedException e) {
+							tag + "Player " + (curr + 1) + " (" + Player[curr].playerName() + ") interrupted due to timeout");
+					while (!task.isDone() && n > 0) {
+						System.err.println(tag + "Waiting for " + Player[curr].playerName() + " to stop ... (" + n + ")");
+						try {
+							Thread.sleep(TIMEOUT * 1000);
+						} catch (InterruptedException e) {
+						}
+						n--;
 					}
-					n--;
-				}
-				if (n == 0) {
+
+					if (n == 0) {
+						System.err.println(
+								tag + "Player " + (curr + 1) + " (" + Player[curr].playerName() + ") still running: game closed");
+						return curr == 0 ? GameState.EP1EX : GameState.EP2EX;
+					} else {
+						System.err.println(tag + "Player " + (curr + 1) + " (" + Player[curr].playerName()
+								+ ") eventually stopped: round closed");
+						return curr == 0 ? GameState.ERRP1 : GameState.ERRP2;
+					}
+				} catch (Exception ex) {
+					error = "exception: " + (ex.getCause() != null ? ex.getCause() : ex);
+					int n = 3; // Wait some more time to see if it stops
 					System.err.println(
-							"Player " + (curr + 1) + " (" + Player[curr].playerName() + ") still running: game closed");
-					return curr == 0 ? GameState.EP1EX : GameState.EP2EX;
-				} else {
-					System.err.println("Player " + (curr + 1) + " (" + Player[curr].playerName()
-							+ ") eventually stopped: round closed");
-					return curr == 0 ? GameState.ERRP1 : GameState.ERRP2;
+							tag + "Player " + (curr + 1) + " (" + Player[curr].playerName() + ") interrupted due to exception");
+					System.err.println(" " + ex);
+					while (!task.isDone() && n > 0) {
+						System.err.println(tag + "Waiting for " + Player[curr].playerName() + " to stop ... (" + n + ")");
+						try {
+							Thread.sleep(TIMEOUT * 1000);
+						} catch (InterruptedException e) {
+						}
+						n--;
+					}
+					if (n == 0) {
+						System.err.println(
+								tag + "Player " + (curr + 1) + " (" + Player[curr].playerName() + ") still running: game closed");
+						return curr == 0 ? GameState.EP1EX : GameState.EP2EX;
+					} else {
+						System.err.println(tag + "Player " + (curr + 1) + " (" + Player[curr].playerName()
+								+ ") eventually stopped: round closed");
+						return curr == 0 ? GameState.ERRP1 : GameState.ERRP2;
+					}
 				}
-			}
 
-			if (!executor.isTerminated())
-				executor.shutdownNow();
-
-			try {
-				int r = 0;
-				B.markColumn(c);
-				if (VERBOSE) {
-					for (int i = 0; i < B.M; i++) {
-						if (B.cellState(i, c) != CXCellState.FREE) {
-							r = i;
-							break;
+				if (!executor.isTerminated())
+					executor.shutdownNow();
+
+				times.add(System.nanoTime() - start);
+				nodes.add(Player[curr] instanceof CXNodeCounter ? ((CXNodeCounter) Player[curr]).searchedNodes() : -1L);
+				columns.add(c);
+				try {
+					int r = 0;
+					B.markColumn(c);
+					if (VERBOSE) {
+						for (int i = 0; i < B.M; i++) {
+							if (B.cellState(i, c) != CXCellState.FREE) {
+								r = i;
+								break;
+							}
 						}
+						System.out.println(
+								tag + "Player " + (curr + 1) + " (" + Player[curr].playerName() + ") -> [" + r + "," + c + "]");
 					}
-					System.out.println(
-							"Player " + (curr + 1) + " (" + Player[curr].playerName() + ") -> [" + r + "," + c + "]");
+				} catch (Exception ex) {
+					System.err.println(tag + "Player " + (curr + 1) + " (" + Player[curr].playerName()
+							+ ")  selected an illegal move [" + c + "]: round closed");
+					error = "illegal move";
+					return curr == 0 ? GameState.ERRP1 : GameState.ERRP2;
 				}
-			} catch (Exception ex) {
-				System.err.println("Player " + (curr + 1) + " (" + Player[curr].playerName()
-						+ ")  selected an illegal move [" + c + "]: round closed");
-				return curr == 0 ? GameState.ERRP1 : GameState.ERRP2;
 			}
+
+			return B.gameState() == CXGameState.DRAW ? GameState.DRAW
+					: (B.gameState() == CXGameState.WINP1 ? GameState.WINP1 : GameState.WINP2);
 		}
 
-		return B.gameState() == CXGameState.DRAW ? GameState.DRAW
-				: (B.gameState() == CXGameState.WINP1 ? GameState.WINP1 : GameState.WINP2);
+		// Adds the time taken by each move, and the timeout of the last move (if any), to the statistics of the players
+		void addTimes(Latency L) {
+			for (int i = 0; i < times.size(); i++)
+				L.add(Player[i % 2].playerName(), B.M, B.N, B.X, i, times.get(i));
+			if (timedOut >= 0)
+				L.timeout(Player[timedOut].playerName(), B.M, B.N, B.X, times.size());
+		}
+
+		// Appends the record of the game, once it is over, to the file of the records
+		void write(CXResultWriter out, int round, GameState state) {
+			try {
+				out.write(B.M, B.N, B.X, round, Player[0].getClass().getName(), Player[1].getClass().getName(),
+						state.toString(), error, columns, times, nodes);
+			} catch (IOException e) {
+				System.err.println(tag + "Error: cannot write the record of the game: " + e);
+			}
+		}
 	}
 
 	private static void parseArgs(String args[]) {
@@ -227,11 +324,46 @@ public class CXPlayerTester {
 
 					try {
 						ROUNDS = Integer.parseInt(args[++i]);
+						ROUNDS_SET = true;
 					} catch (NumberFormatException e) {
 						throw new IllegalArgumentException(
 								"Illegal integer format for " + args[i - 1] + " argument: " + args[i]);
 					}
 					break;
+				case 'j':
+					if (args.length < i + 2)
+						throw new IllegalArgumentException("Expected parameter after " + args[i]);
+
+					try {
+						THREADS = Integer.parseInt(args[++i]);
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException(
+								"Illegal integer format for " + args[i - 1] + " argument: " + args[i]);
+					}
+					break;
+				case 'o':
+					if (args.length < i + 2)
+						throw new IllegalArgumentException("Expected parameter after " + args[i]);
+
+					OUTPUT = args[++i];
+					break;
+				case 's':
+					if (args.length < i + 2)
+						throw new IllegalArgumentException("Expected parameter after " + args[i]);
+
+					String[] v = args[++i].split(",");
+					if (v.length != 2 && v.length != 4)
+						throw new IllegalArgumentException(
+								"Illegal format for " + args[i - 1] + " argument: " + args[i] + " (expected elo0,elo1[,alpha,beta])");
+					try {
+						SPRT = v.length == 2 ? new Sprt(Double.parseDouble(v[0]), Double.parseDouble(v[1]), 0.05, 0.05)
+								: new Sprt(Double.parseDouble(v[0]), Double.parseDouble(v[1]), Double.parseDouble(v[2]),
+										Double.parseDouble(v[3]));
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException(
+								"Illegal number format for " + args[i - 1] + " argument: " + args[i]);
+					}
+					break;
 				case 'v':
 					VERBOSE = true;
 					break;
@@ -269,22 +401,37 @@ public class CXPlayerTester {
 		if (M <= 0 || N <= 0 || X <= 0)
 			throw new IllegalArgumentException("Arguments  M, N, X must be larger than 0");
 
-		String[] P = { L.get(3), L.get(4) };
-		for (int i = 0; i < 2; i++) {
-			try {
-				Player[i] = (CXPlayer) Class.forName(P[i]).getDeclaredConstructor().newInstance();
-			} catch (ClassNotFoundException e) {
-				throw new IllegalArgumentException("Illegal argument: \'" + P[i] + "\' class not found");
-			} catch (ClassCastException e) {
-				throw new IllegalArgumentException(
-						"Illegal argument: \'" + P[i] + "\' class does not implement the CXPlayer interface");
-			} catch (NoSuchMethodException e) {
-				throw new IllegalArgumentException(
-						"Illegal argument: \'" + P[i] + "\' class constructor needs to be empty");
-			} catch (Exception e) {
-				throw new IllegalArgumentException(
-						"Illegal argument: \'" + P[i] + "\' class (unexpected exception) " + e);
-			}
+		if (THREADS <= 0)
+			throw new IllegalArgumentException("Argument -j must be larger than 0");
+
+		if (SPRT != null && !ROUNDS_SET)
+			ROUNDS = 10000;
+
+		PlayerClass[0] = L.get(3);
+		PlayerClass[1] = L.get(4);
+		Player = newPlayers();
+	}
+
+	// Creates new instances of the two players
+	private static CXPlayer[] newPlayers() throws IllegalArgumentException {
+		return new CXPlayer[] { newPlayer(PlayerClass[0]), newPlayer(PlayerClass[1]) };
+	}
+
+	// Creates a new instance of a player class
+	static CXPlayer newPlayer(String P) throws IllegalArgumentException {
+		try {
+			return (CXPlayer) Class.forName(P).getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("Illegal argument: \'" + P + "\' class not found");
+		} catch (ClassCastException e) {
+			throw new IllegalArgumentException(
+					"Illegal argument: \'" + P + "\' class does not implement the CXPlayer interface");
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException(
+					"Illegal argument: \'" + P + "\' class constructor needs to be empty");
+		} catch (Exception e) {
+			throw new IllegalArgumentException(
+					"Illegal argument: \'" + P + "\' class (unexpected exception) " + e);
 		}
 	}
 
@@ -293,42 +440,32 @@ public class CXPlayerTester {
 		System.err.println("OPTIONS:");
 		System.err.println("  -t <timeout>  Timeout in seconds. Default: " + TIMEOUT);
 		System.err.println("  -r <rounds>   Number of rounds. Default: " + ROUNDS);
+		System.err.println("  -j <threads>  Number of games played at the same time. Default: " + THREADS);
+		System.err.println("  -o <file>     Appends the record of each game to file, CSV (.csv) or JSON Lines");
+		System.err.println("  -s <elo0>,<elo1>[,<alpha>,<beta>]");
+		System.err.println("                Plays pairs of games with swapped colors, at most -r pairs (default 10000),");
+		System.err.println("                until the SPRT accepts H0 (Elo difference elo0) or H1 (elo1).");
+		System.err.println("                Default alpha, beta: 0.05");
 		System.err.println("  -v            Verbose. Default: " + VERBOSE);
 	}
 
-	public static void main(String[] args) {
-		int P1SCORE  = 0;
-		int P2SCORE  = 0;
-		int[] STATP1 = new int[3];      
-    int[] STATP2 = new int[3];
-
-		if (args.length == 0) {
-			printUsage();
-			System.exit(0);
-		}
-
-		try {
-			parseArgs(args);
-		} catch (Exception e) {
-			System.err.println(e);
-			System.exit(1);
-		}
-
-		if (VERBOSE) {
-			System.out.println("Game type : " + M + "," + N + "," + X);
-			System.out.println("Player1   : " + Player[0].playerName());
-			System.out.println("Player2   : " + Player[1].playerName());
-			System.out.println("Rounds    : " + ROUNDS);
-			System.out.println("Timeout   : " + TIMEOUT + " secs\n\n");
+	/** Scores of the two players, added up as the games end */
+	static class Score {
+		final String[] name;
+		private final boolean VERBOSE;
+		private int P1SCORE  = 0;
+		private int P2SCORE  = 0;
+		private int[] STATP1 = new int[3];
+		private int[] STATP2 = new int[3];
+
+		Score(String P1, String P2, boolean VERBOSE) {
+			this.name = new String[] { P1, P2 };
+			this.VERBOSE = VERBOSE;
 		}
 
-		boolean stop = false; 
-		for (int i = 1; i <= ROUNDS && !stop; i++) {
-			if (VERBOSE)
-				System.out.println("\n**** ROUND " + i + " ****");
-			initGame();
-			GameState state = runGame();
-
+		// Adds the result of a game. Returns true if the tournament must stop, because a player is still running
+		synchronized boolean add(GameState state) {
+			boolean stop = false;
 			switch (state) {
 			case WINP1:
 				P1SCORE += WINSCORE;  STATP1[0]++;
@@ -343,7 +480,7 @@ public class CXPlayerTester {
 				P1SCORE += ERRSCORE;  STATP2[2]++;
 				break;
 			case EP1EX:
-				P2SCORE += ERRSCORE;  STATP1[2]++; stop=true; 
+				P2SCORE += ERRSCORE;  STATP1[2]++; stop=true;
 				break;
 			case EP2EX:
 				P1SCORE += ERRSCORE;  STATP2[2]++; stop=true;
@@ -355,15 +492,402 @@ public class CXPlayerTester {
 			}
 			if (VERBOSE) {
 				System.out.println("\nGame state    : " + state);
-				System.out.println("Current score : " + Player[0].playerName() + " (" + P1SCORE + ") - "
-						+ Player[1].playerName() + " (" + P2SCORE + ")");
+				System.out.println("Current score : " + name[0] + " (" + P1SCORE + ") - "
+						+ name[1] + " (" + P2SCORE + ")");
 			}
+			return stop;
 		}
+
+		// Adds the scores of other games between the same players
+		synchronized void add(Score S) {
+			synchronized (S) {
+				P1SCORE += S.P1SCORE;
+				P2SCORE += S.P2SCORE;
+				for (int i = 0; i < 3; i++) {
+					STATP1[i] += S.STATP1[i];
+					STATP2[i] += S.STATP2[i];
+				}
+			}
+		}
+
+		synchronized void print() {
+			System.out.println(name[0] + " Score: " + P1SCORE + " Won: " + STATP1[0] + " Lost: " + STATP2[0] + " Draw: " + STATP1[1] + " Error: " + STATP1[2]);
+			System.out.println(name[1] + " Score: " + P2SCORE + " Won: " + STATP2[0] + " Lost: " + STATP1[0] + " Draw: " + STATP2[1] + " Error: " + STATP2[2]);
+		}
+	}
+
+	/**
+	 * Time taken by the moves of each player, added up as the games end. The
+	 * times are kept for each game type, for each game phase (the first, second
+	 * and last third of the cells of the board) and for the whole run
+	 */
+	static class Latency {
+		private static final String[] PHASES = { "opening", "middlegame", "endgame" };
+
+		private final int TIMEOUT;
+		// Statistics of each player, by game type, then by phase, then for all the moves
+		private final Map<String, Map<String, Stats>> players = new LinkedHashMap<String, Map<String, Stats>>();
+
+		// Moves of a player, and the number of moves which exceeded the timeout
+		private static class Stats {
+			final CXLatencyHistogram times = new CXLatencyHistogram();
+			int timeouts = 0;
+		}
+
+		Latency(int TIMEOUT) {
+			this.TIMEOUT = TIMEOUT;
+		}
+
+		// Adds the time (ns) of the move made on a board with the given number of coins
+		synchronized void add(String player, int M, int N, int X, int coins, long nanos) {
+			for (Stats S : stats(player, M, N, X, coins))
+				S.times.record(nanos / 1000);
+		}
+
+		// Adds a move which exceeded the timeout
+		synchronized void timeout(String player, int M, int N, int X, int coins) {
+			for (Stats S : stats(player, M, N, X, coins))
+				S.timeouts++;
+		}
+
+		// The statistics a move is added to: those of its game type, of its phase and of all the moves
+		private Stats[] stats(String player, int M, int N, int X, int coins) {
+			if (!players.containsKey(player)) {
+				Map<String, Stats> S = new LinkedHashMap<String, Stats>();
+				for (String phase : PHASES)
+					S.put(phase, new Stats());
+				S.put("all", new Stats());
+				players.put(player, S);
+			}
+			Map<String, Stats> S = players.get(player);
+			String board = M + "," + N + "," + X;
+			if (!S.containsKey(board))
+				S.put(board, new Stats());
+			return new Stats[] { S.get(board), S.get(PHASES[Math.min(3 * coins / (M * N), 2)]), S.get("all") };
+		}
+
+		synchronized void print() {
+			System.out.println("\n**** MOVE TIMES (ms; margin from the " + TIMEOUT + " s timeout) ****");
+			System.out.println(String.format(Locale.ROOT, "%-16s %-12s %7s %9s %9s %9s %9s %11s %11s %8s", "Player",
+					"Type/phase", "Moves", "p50", "p90", "p99", "max", "margin p99", "margin min", "Timeouts"));
+			for (Map.Entry<String, Map<String, Stats>> P : players.entrySet()) {
+				Map<String, Stats> S = P.getValue();
+				int boards = S.size() - PHASES.length - 1;
+				// game types first, then phases; the total only when it differs from the single game type
+				for (Map.Entry<String, Stats> E : S.entrySet())
+					if (!isSummary(E.getKey()))
+						printRow(P.getKey(), E.getKey(), E.getValue());
+				for (String phase : PHASES)
+					printRow(P.getKey(), phase, S.get(phase));
+				if (boards > 1)
+					printRow(P.getKey(), "all", S.get("all"));
+			}
+		}
+
+		private static boolean isSummary(String key) {
+			return key.equals("all") || Arrays.asList(PHASES).contains(key);
+		}
+
+		private void printRow(String player, String moves, Stats S) {
+			CXLatencyHistogram H = S.times;
+			if (H.count() == 0 && S.timeouts == 0)
+				return;
+			System.out.println(String.format(Locale.ROOT, "%-16s %-12s %7d %9.1f %9.1f %9.1f %9.1f %11.1f %11.1f %8d",
+					player, moves, H.count(), H.percentile(50) / 1000.0, H.percentile(90) / 1000.0,
+					H.percentile(99) / 1000.0, H.max() / 1000.0, TIMEOUT * 1000.0 - H.percentile(99) / 1000.0,
+					TIMEOUT * 1000.0 - H.max() / 1000.0, S.timeouts));
+		}
+	}
+
+	// Result of a game seen from the other seat: the result of the same game with the players swapped
+	static GameState swap(GameState state) {
+		switch (state) {
+		case WINP1: return GameState.WINP2;
+		case WINP2: return GameState.WINP1;
+		case ERRP1: return GameState.ERRP2;
+		case ERRP2: return GameState.ERRP1;
+		case EP1EX: return GameState.EP2EX;
+		case EP2EX: return GameState.EP1EX;
+		default:    return state;
+		}
+	}
+
+	/**
+	 * Sequential Probability Ratio Test on pairs of games with the colors
+	 * swapped. A pair scores 0, 0.5, 1, 1.5 or 2 points for the first player;
+	 * the log-likelihood ratio of the two hypotheses is the generalized SPRT
+	 * approximation on the pentanomial distribution of the pair scores, with
+	 * the logistic Elo model
+	 */
+	static class Sprt {
+		// The test does not end before this number of pairs, since the variance of a few pairs is unreliable
+		private static final int MIN_PAIRS = 10;
+
+		private final double elo0, elo1, alpha, beta;
+		private final double[] pairs = new double[5]; // number of pairs by points of the first player, in half points
+		private String result = null; // the accepted hypothesis, null until the test ends
+		private int decidedAt;        // number of pairs when the test ended
+		private double decidedLLR;    // log-likelihood ratio when the test ended
+
+		Sprt(double elo0, double elo1, double alpha, double beta) {
+			if (elo0 >= elo1)
+				throw new IllegalArgumentException("SPRT bounds: elo0 must be smaller than elo1");
+			if (alpha <= 0 || alpha >= 0.5 || beta <= 0 || beta >= 0.5)
+				throw new IllegalArgumentException("SPRT error probabilities must be between 0 and 0.5");
+			this.elo0 = elo0;
+			this.elo1 = elo1;
+			this.alpha = alpha;
+			this.beta = beta;
+		}
+
+		// Adds a pair, given its two results from the first player's seat. Returns true once the test has ended
+		synchronized boolean add(GameState first, GameState second) {
+			pairs[points(first) + points(second)]++;
+			if (result == null && count() >= MIN_PAIRS) {
+				double llr = llr();
+				if (llr >= upper())
+					result = "H1";
+				else if (llr <= lower())
+					result = "H0";
+				if (result != null) {
+					decidedAt = count();
+					decidedLLR = llr;
+				}
+			}
+			return result != null;
+		}
+
+		// Half points of the first player in a game
+		private static int points(GameState state) {
+			switch (state) {
+			case WINP1: case ERRP2: case EP2EX: return 2;
+			case DRAW:  return 1;
+			default:    return 0;
+			}
+		}
+
+		private int count() {
+			int n = 0;
+			for (double p : pairs)
+				n += (int) p;
+			return n;
+		}
+
+		private double lower() {
+			return Math.log(beta / (1 - alpha));
+		}
+
+		private double upper() {
+			return Math.log((1 - beta) / alpha);
+		}
+
+		// Expected score of a game for an Elo difference
+		private static double expected(double elo) {
+			return 1 / (1 + Math.pow(10, -elo / 400));
+		}
+
+		// Frequencies of the pair scores. Empty classes get a small count, so that the variance is not zero when
+		// all the pairs end in the same way
+		private double[] frequencies() {
+			double[] f = new double[5];
+			double n = 0;
+			for (int i = 0; i < 5; i++)
+				n += f[i] = pairs[i] == 0 ? 1e-3 : pairs[i];
+			for (int i = 0; i < 5; i++)
+				f[i] /= n;
+			return f;
+		}
+
+		// Mean and variance of the score of a game, averaged over a pair
+		private double[] meanVariance() {
+			double[] f = frequencies();
+			double mean = 0, variance = 0;
+			for (int i = 0; i < 5; i++)
+				mean += f[i] * i / 4.0;
+			for (int i = 0; i < 5; i++)
+				variance += f[i] * (i / 4.0 - mean) * (i / 4.0 - mean);
+			return new double[] { mean, variance };
+		}
+
+		private double llr() {
+			double[] mv = meanVariance();
+			double s0 = expected(elo0), s1 = expected(elo1);
+			return count() * (s1 - s0) * (2 * mv[0] - s0 - s1) / (2 * mv[1]);
+		}
+
+		// Elo difference of a score, bounded to avoid infinite values
+		private static double elo(double score) {
+			score = Math.min(Math.max(score, 1e-3), 1 - 1e-3);
+			return -400 * Math.log10(1 / score - 1);
+		}
+
+		synchronized void print(String P1) {
+			int n = count();
+			double[] mv = meanVariance();
+			double error = 1.96 * Math.sqrt(mv[1] / Math.max(n, 1));
+			double elo = elo(mv[0]);
+			System.out.println(String.format(Locale.ROOT, "SPRT elo0=%.1f elo1=%.1f alpha=%.3f beta=%.3f LLR %.2f [%.2f, %.2f]",
+					elo0, elo1, alpha, beta, n == 0 ? 0 : llr(), lower(), upper()));
+			System.out.println("Pairs: " + n + " [" + (int) pairs[0] + ", " + (int) pairs[1] + ", " + (int) pairs[2] + ", "
+					+ (int) pairs[3] + ", " + (int) pairs[4] + "] (pairs scoring 0, 0.5, 1, 1.5, 2 for " + P1 + ")");
+			System.out.println(result == null ? "Result: inconclusive"
+					: String.format(Locale.ROOT, "Result: %s accepted after %d pairs (LLR %.2f)", result, decidedAt, decidedLLR));
+			System.out.println(String.format(Locale.ROOT, "Elo difference (%s): %.1f +/- %.1f (95%%)", P1, elo,
+					(elo(mv[0] + error) - elo(mv[0] - error)) / 2));
+		}
+	}
+
+	// Plays the rounds one after the other, with the same instances of the players
+	private static void playSequential(Score score) {
+		boolean stop = false;
+		for (int i = 1; i <= ROUNDS && !stop; i++) {
+			if (VERBOSE)
+				System.out.println("\n**** ROUND " + i + " ****");
+			Game game = new Game(M, N, X, Player, TIMEOUT, VERBOSE, "");
+			GameState state = game.init();
+			if (state != null)
+				stop = true; // a player which cannot be initialized loses its game and ends the tournament
+			else
+				state = game.run();
+			game.addTimes(Times);
+			if (Writer != null)
+				game.write(Writer, i, state);
+			stop |= score.add(state);
+		}
+	}
+
+	// Plays the rounds on a pool of THREADS workers, each game with new instances of the players. When a player
+	// cannot be stopped, the games not started yet are skipped
+	private static void playParallel(Score score) {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		AtomicBoolean stop = new AtomicBoolean(false);
+		List<Future<?>> games = new ArrayList<Future<?>>();
+		for (int i = 1; i <= ROUNDS; i++) {
+			final int round = i;
+			games.add(pool.submit(() -> {
+				if (stop.get())
+					return;
+				if (VERBOSE)
+					System.out.println("\n**** ROUND " + round + " ****");
+				Game game = new Game(M, N, X, newPlayers(), TIMEOUT, VERBOSE, "Round " + round + ": ");
+				GameState state = game.init();
+				if (state != null)
+					stop.set(true); // a player which cannot be initialized loses its game and ends the tournament
+				else
+					state = game.run();
+				game.addTimes(Times);
+				if (Writer != null)
+					game.write(Writer, round, state);
+				if (score.add(state))
+					stop.set(true);
+			}));
+		}
+		pool.shutdown();
+		try {
+			for (Future<?> game : games)
+				game.get();
+		} catch (InterruptedException | ExecutionException e) {
+			System.err.println(e);
+			System.exit(1);
+		}
+	}
+
+	// Plays pairs of games with the colors swapped on a pool of THREADS workers, each game with new instances of the
+	// players, until the SPRT ends or ROUNDS pairs are played. The results of the second game of each pair are
+	// swapped, so that the scores are those of the two players whatever their colors
+	private static void playSprt(Score score) {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		AtomicBoolean stop = new AtomicBoolean(false);
+		List<Future<?>> pairs = new ArrayList<Future<?>>();
+		for (int i = 1; i <= ROUNDS; i++) {
+			final int pair = i;
+			pairs.add(pool.submit(() -> {
+				if (stop.get())
+					return;
+				GameState[] state = new GameState[2];
+				for (int k = 0; k < 2; k++) {
+					int round = 2 * pair - 1 + k;
+					if (VERBOSE)
+						System.out.println("\n**** ROUND " + round + " ****");
+					CXPlayer[] P = newPlayers();
+					if (k == 1)
+						P = new CXPlayer[] { P[1], P[0] };
+					Game game = new Game(M, N, X, P, TIMEOUT, VERBOSE, THREADS > 1 ? "Round " + round + ": " : "");
+					GameState s = game.init();
+					boolean failed = s != null; // a player which cannot be initialized ends the test
+					if (!failed)
+						s = game.run();
+					game.addTimes(Times);
+					if (Writer != null)
+						game.write(Writer, round, s);
+					state[k] = k == 0 ? s : swap(s);
+					if (score.add(state[k]) || failed) { // a player is still running or failed: no more games
+						stop.set(true);
+						return;
+					}
+				}
+				// the pairs which were running when the test ended are added as well, to the estimate only
+				if (SPRT.add(state[0], state[1]))
+					stop.set(true);
+			}));
+		}
+		pool.shutdown();
+		try {
+			for (Future<?> pair : pairs)
+				pair.get();
+		} catch (InterruptedException | ExecutionException e) {
+			System.err.println(e);
+			System.exit(1);
+		}
+	}
+
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			printUsage();
+			System.exit(0);
+		}
+
+		try {
+			parseArgs(args);
+			if (OUTPUT != null)
+				Writer = new CXResultWriter(OUTPUT);
+		} catch (Exception e) {
+			System.err.println(e);
+			System.exit(1);
+		}
+		Score score = new Score(Player[0].playerName(), Player[1].playerName(), VERBOSE);
+		Times = new Latency(TIMEOUT);
+
+		if (VERBOSE) {
+			System.out.println("Game type : " + M + "," + N + "," + X);
+			System.out.println("Player1   : " + Player[0].playerName());
+			System.out.println("Player2   : " + Player[1].playerName());
+			System.out.println((SPRT != null ? "Max pairs : " : "Rounds    : ") + ROUNDS);
+			System.out.println("Threads   : " + THREADS);
+			System.out.println("Timeout   : " + TIMEOUT + " secs\n\n");
+		}
+
+		if (SPRT != null)
+			playSprt(score);
+		else if (THREADS == 1)
+			playSequential(score);
+		else
+			playParallel(score);
+
 		if (VERBOSE)
 			System.out.println("\n**** FINAL SCORE ****");
-		System.out.println(Player[0].playerName() + " Score: " + P1SCORE + " Won: " + STATP1[0] + " Lost: " + STATP2[0] + " Draw: " + STATP1[1] + " Error: " + STATP1[2]);
-		System.out.println(Player[1].playerName() + " Score: " + P2SCORE + " Won: " + STATP2[0] + " Lost: " + STATP1[0] + " Draw: " + STATP2[1] + " Error: " + STATP2[2]); 
-		
+		score.print();
+		if (SPRT != null)
+			SPRT.print(Player[0].playerName());
+		Times.print();
+
+		if (Writer != null) {
+			try {
+				Writer.close();
+			} catch (IOException e) {
+				System.err.println("Error: cannot write the records of the games: " + e);
+			}
+		}
 		System.exit(0);
 	}
 
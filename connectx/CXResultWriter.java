@@ -0,0 +1,158 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes one record for each game played by the testers, in a file which
+ * the results of later runs are appended to.
+ * <p>
+ * Files ending in <code>.csv</code> get comma-separated values, with a
+ * header line when the file is created; the other files get JSON Lines.
+ * A record holds the game type, the round, the classes of the players
+ * (the first one moves first), the result and the error which ended the
+ * game (if any), the columns played, the time taken by each move in
+ * milliseconds and the nodes searched for each move (-1 for the players
+ * which are not a <code>CXNodeCounter</code>). In CSV, the lists of values
+ * are separated by semicolons.
+ * </p>
+ * <p>
+ * Records can be written by concurrent games. Each record is written to
+ * the file as soon as its game ends, so that the records of the games
+ * played so far are kept if the run is killed.
+ * </p>
+ */
+class CXResultWriter {
+	private static final String HEADER = "M,N,X,round,player1,player2,result,error,moves,columns,times_ms,nodes";
+
+	private final BufferedWriter out;
+	private final boolean csv;
+
+	/**
+	 * Opens a file of records, creating it if it does not exist
+	 *
+	 * @param file File name
+	 *
+	 * @throws IOException If the file cannot be opened
+	 */
+	CXResultWriter(String file) throws IOException {
+		Path path = Paths.get(file);
+		csv = file.toLowerCase(Locale.ROOT).endsWith(".csv");
+		boolean empty = !Files.exists(path) || Files.size(path) == 0;
+		out = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		if (csv && empty) {
+			out.write(HEADER);
+			out.newLine();
+		}
+	}
+
+	/**
+	 * Writes the record of a game
+	 *
+	 * @param M       Board rows
+	 * @param N       Board columns
+	 * @param X       Number of coins to be aligned
+	 * @param round   Round of the game
+	 * @param player1 Class of the first player
+	 * @param player2 Class of the second player
+	 * @param result  Result of the game
+	 * @param error   Error which ended the game, null if the game ended normally
+	 * @param columns Columns played
+	 * @param times   Time taken by each move, in nanoseconds
+	 * @param nodes   Nodes searched for each move, -1 if not counted
+	 *
+	 * @throws IOException If the record cannot be written
+	 */
+	synchronized void write(int M, int N, int X, int round, String player1, String player2, String result, String error,
+			List<Integer> columns, List<Long> times, List<Long> nodes) throws IOException {
+		StringBuilder s = new StringBuilder();
+		if (csv) {
+			s.append(M).append(',').append(N).append(',').append(X).append(',').append(round).append(',');
+			s.append(csvField(player1)).append(',').append(csvField(player2)).append(',').append(result).append(',');
+			s.append(error == null ? "" : csvField(error)).append(',').append(columns.size()).append(',');
+			appendList(s, columns, ";", false).append(',');
+			appendList(s, times, ";", true).append(',');
+			appendList(s, nodes, ";", false);
+		} else {
+			s.append("{\"M\":").append(M).append(",\"N\":").append(N).append(",\"X\":").append(X);
+			s.append(",\"round\":").append(round);
+			s.append(",\"player1\":").append(jsonString(player1)).append(",\"player2\":").append(jsonString(player2));
+			s.append(",\"result\":\"").append(result).append("\",\"error\":").append(error == null ? "null" : jsonString(error));
+			s.append(",\"moves\":").append(columns.size());
+			appendList(s.append(",\"columns\":["), columns, ",", false).append(']');
+			appendList(s.append(",\"times_ms\":["), times, ",", true).append(']');
+			appendList(s.append(",\"nodes\":["), nodes, ",", false).append("]}");
+		}
+		out.write(s.toString());
+		out.newLine();
+		out.flush();
+	}
+
+	/**
+	 * Closes the file
+	 *
+	 * @throws IOException If the records cannot be written
+	 */
+	synchronized void close() throws IOException {
+		out.close();
+	}
+
+	// Appends a list of values; times are converted from nanoseconds to milliseconds
+	private static StringBuilder appendList(StringBuilder s, List<? extends Number> L, String separator, boolean time) {
+		for (int i = 0; i < L.size(); i++) {
+			if (i > 0)
+				s.append(separator);
+			if (time)
+				s.append(String.format(Locale.ROOT, "%.3f", L.get(i).longValue() / 1e6));
+			else
+				s.append(L.get(i));
+		}
+		return s;
+	}
+
+	// Quotes a CSV field if it contains separators or quotes
+	private static String csvField(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0)
+			return value;
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	// JSON string literal of a value
+	private static String jsonString(String value) {
+		StringBuilder s = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\')
+				s.append('\\').append(c);
+			else if (c < ' ')
+				s.append(String.format("\\u%04x", (int) c));
+			else
+				s.append(c);
+		}
+		return s.append('"').toString();
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transposition table which can be shared by the threads of a parallel
+ * search, without locking.
+ * <p>
+ * Each slot stores the key xor-ed with the data word, followed by the data
+ * word. The two words are written separately, so a reader can see the key
+ * word of one entry with the data word of another: xor-ing them back then
+ * gives a key which does not match the probed one, and the torn entry is
+ * treated as a miss. An entry overwritten while being stored is lost, which
+ * only costs a re-search.
+ * </p>
+ * <p>
+ * <code>size</code> is approximate while the table is being written by
+ * several threads.
+ * </p>
+ */
+public class CXSharedTranspositionTable extends CXTranspositionTable {
+	private final AtomicInteger filled = new AtomicInteger(); // Number of slots in use
+
+	/**
+	 * Allocates a table with the given number of entries
+	 *
+	 * @param entries Number of entries, rounded down to a power of two (at least 2)
+	 *
+	 * @throws IllegalArgumentException If entries is larger than 2^29
+	 */
+	public CXSharedTranspositionTable(int entries) throws IllegalArgumentException {
+		super(entries);
+	}
+
+	@Override
+	public int size() {
+		return filled.get();
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		filled.set(0);
+	}
+
+	// The key word of a slot holds key ^ data
+	@Override
+	protected long key(int i, long data) {
+		return T[i] ^ data;
+	}
+
+	@Override
+	protected void write(int i, long key, long data) {
+		long old = T[i+1];
+		if (old == 0 && data != 0) filled.incrementAndGet();
+		else if (old != 0 && data == 0) filled.decrementAndGet();
+		T[i]   = key ^ data;
+		T[i+1] = data;
+	}
+}
@@ -0,0 +1,323 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Fixed-size transposition table for game-tree searches.
+ * <p>
+ * Entries are stored in a single <code>long[]</code>: each entry takes two
+ * words, the position key and the packed data (score, best column, depth,
+ * bound type), so probing and storing never allocate. Entries are grouped in
+ * buckets of two slots: the first one keeps the deepest result seen for the
+ * bucket, the second one always receives the results which do not replace the
+ * first.
+ * </p>
+ * <p>
+ * Packed entries returned by <code>probe</code> are decoded with the static
+ * methods <code>score</code>, <code>move</code>, <code>depth</code> and
+ * <code>bound</code>.
+ * </p>
+ */
+public class CXTranspositionTable {
+	/**
+	 * Bound type of an exact score
+	 */
+	public static final int EXACT = 1;
+
+	/**
+	 * Bound type of a lower bound of the score (fail high)
+	 */
+	public static final int LOWER = 2;
+
+	/**
+	 * Bound type of an upper bound of the score (fail low)
+	 */
+	public static final int UPPER = 3;
+
+	/**
+	 * Largest depth that can be stored: deeper results (e.g. proven wins and
+	 * losses) are stored with this depth
+	 */
+	public static final int MAX_DEPTH = 1023;
+
+	/**
+	 * Memory taken by one entry, in bytes
+	 */
+	public static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+	/**
+	 * Memory budget of a table, in megabytes, when the <code>cx.tt.mb</code>
+	 * system property is not set
+	 */
+	public static final int DEFAULT_BUDGET_MB = 256;
+
+	/**
+	 * Smallest number of entries <code>allocate</code> falls back to
+	 */
+	public static final int MIN_ENTRIES = 1 << 10;
+
+	// Data word layout: score (bits 0-31), move+1 (bits 32-47, 0 if there is no
+	// move), depth (bits 48-57), age (bits 58-61), bound (bits 62-63). The bound
+	// is never 0 in a stored entry, so a 0 data word marks an empty slot.
+	private static final int MOVE_SHIFT  = 32;
+	private static final int DEPTH_SHIFT = 48;
+	private static final int AGE_SHIFT   = 58;
+	private static final int BOUND_SHIFT = 62;
+	private static final int AGES        = 16;
+
+	protected final long[] T;    // Buckets: key0, data0, key1, data1
+	protected final int    mask; // Number of buckets - 1
+	protected int          age;  // Age of the current search
+	protected int          used; // Number of slots in use
+
+	/**
+	 * Allocates a table with the given number of entries
+	 *
+	 * @param entries Number of entries, rounded down to a power of two (at least 2)
+	 *
+	 * @throws IllegalArgumentException If entries is larger than 2^29
+	 */
+	public CXTranspositionTable(int entries) throws IllegalArgumentException {
+		if (entries > 1 << 29)
+			throw new IllegalArgumentException("Too many entries: " + entries);
+		int buckets = Math.max(1, Integer.highestOneBit(entries) / 2);
+		T    = new long[4 * buckets];
+		mask = buckets - 1;
+	}
+
+	/**
+	 * Allocates a table with at most the given number of entries, fitting in
+	 * a memory budget.
+	 * <p>
+	 * If the heap cannot hold the table, the number of entries is halved until
+	 * the allocation succeeds.
+	 * </p>
+	 *
+	 * @param entries   Largest number of entries which can be useful
+	 * @param megabytes Memory budget in megabytes
+	 *
+	 * @return the new table
+	 *
+	 * @throws IllegalArgumentException If megabytes is not positive
+	 * @throws OutOfMemoryError If not even a table with <code>MIN_ENTRIES</code> entries fits in the heap
+	 */
+	public static CXTranspositionTable allocate(int entries, int megabytes) throws IllegalArgumentException {
+		return allocate(entries, megabytes, CXTranspositionTable::new);
+	}
+
+	/**
+	 * Allocates a table of a subclass, as <code>allocate(entries, megabytes)</code>
+	 *
+	 * @param entries     Largest number of entries which can be useful
+	 * @param megabytes   Memory budget in megabytes
+	 * @param constructor Constructor of the table, taking the number of entries
+	 * @param <T>         Type of the table
+	 *
+	 * @return the new table
+	 *
+	 * @throws IllegalArgumentException If megabytes is not positive
+	 * @throws OutOfMemoryError If not even a table with <code>MIN_ENTRIES</code> entries fits in the heap
+	 */
+	public static <T extends CXTranspositionTable> T allocate(int entries, int megabytes, IntFunction<T> constructor) throws IllegalArgumentException {
+		if (megabytes <= 0)
+			throw new IllegalArgumentException("Memory budget must be positive: " + megabytes);
+		long fit = ((long) megabytes << 20) / ENTRY_BYTES;
+		int n = (int) Math.max(MIN_ENTRIES, Math.min(Math.min(entries, fit), 1 << 29));
+		while (true) {
+			try {
+				return constructor.apply(n);
+			} catch (OutOfMemoryError e) {
+				if (n <= MIN_ENTRIES) throw e;
+				n /= 2;
+			}
+		}
+	}
+
+	/**
+	 * Returns the memory budget of a table set with the <code>cx.tt.mb</code>
+	 * system property (e.g. <code>-Dcx.tt.mb=64</code>)
+	 *
+	 * @return budget in megabytes, <code>DEFAULT_BUDGET_MB</code> if the property is not set
+	 */
+	public static int budgetMB() {
+		return Integer.getInteger("cx.tt.mb", DEFAULT_BUDGET_MB);
+	}
+
+	/**
+	 * Returns the number of entries of the table
+	 *
+	 * @return number of entries
+	 */
+	public int capacity() {
+		return 2 * (mask + 1);
+	}
+
+	/**
+	 * Returns the number of entries in use
+	 *
+	 * @return number of stored entries
+	 */
+	public int size() {
+		return used;
+	}
+
+	/**
+	 * Removes all the entries
+	 */
+	public void clear() {
+		Arrays.fill(T, 0L);
+		used = 0;
+	}
+
+	/**
+	 * Starts a new search.
+	 * <p>
+	 * Entries stored by earlier searches stay valid, but they no longer take
+	 * precedence over new entries when choosing what to replace.
+	 * </p>
+	 */
+	public void newSearch() {
+		age = (age + 1) % AGES;
+	}
+
+	/**
+	 * Looks up a position
+	 *
+	 * @param key Position key
+	 *
+	 * @return The packed entry, or 0 if the position is not in the table
+	 */
+	public long probe(long key) {
+		int b = bucket(key);
+		long data = T[b+1];
+		if (data != 0 && key(b, data) == key)
+			return data;
+		data = T[b+3];
+		if (data != 0 && key(b+2, data) == key)
+			return data;
+		return 0;
+	}
+
+	/**
+	 * Stores the result of the search of a position
+	 *
+	 * @param key   Position key
+	 * @param score Score of the position
+	 * @param move  Best column, or -1 if there is none
+	 * @param depth Searched depth, larger values are stored as <code>MAX_DEPTH</code>
+	 * @param bound Bound type of the score (<code>EXACT</code>, <code>LOWER</code>, <code>UPPER</code>)
+	 */
+	public void store(long key, int score, int move, int depth, int bound) {
+		long data = pack(score, move, depth, bound);
+		int b = bucket(key);
+		long data0 = T[b+1], key0 = key(b, data0);
+		long data1 = T[b+3], key1 = key(b+2, data1);
+
+		if (data0 == 0 || key0 == key || depth >= depth(data0) || age(data0) != age) {
+			// Depth-preferred slot: demote its entry to the always-replace slot
+			if (key0 != key && data0 != 0) {
+				write(b+2, key0, data0);
+			} else if (key1 == key && data1 != 0) {
+				write(b+2, 0, 0);
+			}
+			write(b, key, data);
+		} else {
+			write(b+2, key, data);
+		}
+	}
+
+	/**
+	 * Returns the score of a packed entry
+	 *
+	 * @param entry Packed entry returned by <code>probe</code>
+	 *
+	 * @return score
+	 */
+	public static int score(long entry) {
+		return (int) entry;
+	}
+
+	/**
+	 * Returns the best column of a packed entry
+	 *
+	 * @param entry Packed entry returned by <code>probe</code>
+	 *
+	 * @return column index, or -1 if no column was stored
+	 */
+	public static int move(long entry) {
+		return (int) ((entry >>> MOVE_SHIFT) & 0xFFFF) - 1;
+	}
+
+	/**
+	 * Returns the searched depth of a packed entry
+	 *
+	 * @param entry Packed entry returned by <code>probe</code>
+	 *
+	 * @return depth
+	 */
+	public static int depth(long entry) {
+		return (int) ((entry >>> DEPTH_SHIFT) & MAX_DEPTH);
+	}
+
+	/**
+	 * Returns the bound type of a packed entry
+	 *
+	 * @param entry Packed entry returned by <code>probe</code>
+	 *
+	 * @return <code>EXACT</code>, <code>LOWER</code> or <code>UPPER</code>
+	 */
+	public static int bound(long entry) {
+		return (int) (entry >>> BOUND_SHIFT);
+	}
+
+	// Packs the data word of an entry of the current search
+	protected long pack(int score, int move, int depth, int bound) {
+		return (score & 0xFFFFFFFFL)
+		     | (long) ((move + 1) & 0xFFFF) << MOVE_SHIFT
+		     | (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT
+		     | (long) age << AGE_SHIFT
+		     | (long) bound << BOUND_SHIFT;
+	}
+
+	// Age of the search which stored a packed entry
+	protected static int age(long entry) {
+		return (int) ((entry >>> AGE_SHIFT) & (AGES - 1));
+	}
+
+	// Key of the entry in the slot starting at index i of T, whose data word is data
+	protected long key(int i, long data) {
+		return T[i];
+	}
+
+	// Writes an entry in the slot starting at index i of T
+	protected void write(int i, long key, long data) {
+		if (T[i+1] == 0 && data != 0) used++;
+		else if (T[i+1] != 0 && data == 0) used--;
+		T[i]   = key;
+		T[i+1] = data;
+	}
+
+	// Index in T of the bucket of a key
+	protected int bucket(long key) {
+		return ((int) (key ^ (key >>> 32)) & mask) << 2;
+	}
+}
@@ -0,0 +1,381 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx.FixedDepthPlayer;
+
+import connectx.CXPlayer;
+import connectx.CXBoard;
+import connectx.CXGameState;
+import connectx.CXTranspositionTable;
+import connectx.CXSharedTranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Software player searching the game tree up to a fixed depth with
+ * alpha-beta pruning.
+ * <p>
+ * Open configurations at the maximum depth are evaluated as draws. Among
+ * the columns with the best score, the first one searched is selected; if
+ * every column loses, a random column is selected.
+ * </p>
+ * <p>
+ * The search is configured with system properties:
+ * </p>
+ * <ul>
+ * <li><code>cx.fd.depth</code>: depth of the search of the players created
+ * with the default constructor (3 by default);</li>
+ * <li><code>cx.root.threads</code>: number of threads searching the columns of
+ * the root in parallel (1 by default, for a serial search);</li>
+ * <li><code>cx.fd.order</code>: <code>center</code> to search columns from
+ * the centre of the board out, rather than from left to right;</li>
+ * <li><code>cx.fd.tt</code>: <code>true</code> to save the searched
+ * configurations in a transposition table.</li>
+ * </ul>
+ */
+public class FixedDepthPlayer implements CXPlayer {
+
+    private Random rand;
+    private CXGameState myWin;
+    private CXGameState yourWin;
+    private int TIMEOUT;
+    private long START;
+
+    int M; //rows
+    int N; //cols
+    int K;
+    boolean first;
+
+    // Name of the player and depth of the search
+    final String name;
+    final int depth;
+    // Number of threads searching the root columns in parallel, set with -Dcx.root.threads (1 for a serial search)
+    int numOfThreads = Integer.getInteger("cx.root.threads", 1);
+    // Whether columns are searched from the centre of the board out (-Dcx.fd.order=center) or from left to right
+    boolean centerFirst = "center".equals(System.getProperty("cx.fd.order"));
+    // Whether searched configurations are saved in a transposition table (-Dcx.fd.tt=true)
+    boolean useTransTable = Boolean.getBoolean("cx.fd.tt");
+
+    // Available columns of the nodes being searched, one array per remaining depth
+    int[][] moves;
+    // Column visit order when centerFirst is set
+    int[] moveOrder;
+    // Seed of the Zobrist keys of the positions and transposition table, when useTransTable is set
+    long zobristSeed;
+    CXTranspositionTable transTable;
+    // Threads of the parallel search, kept from one move and game to the next while they are busy
+    ExecutorService rootPool;
+
+    /**
+     * Creates a player searching up to the depth set with the
+     * <code>cx.fd.depth</code> system property (3 by default)
+     *
+     * @throws IllegalArgumentException If the depth is not positive
+     */
+    public FixedDepthPlayer() throws IllegalArgumentException {
+        this(null, Integer.getInteger("cx.fd.depth", 3));
+    }
+
+    /**
+     * Creates a named player searching up to the given depth
+     *
+     * @param name  Name of the player, null for a name made from the depth
+     * @param depth Depth of the search
+     *
+     * @throws IllegalArgumentException If depth is not positive
+     */
+    protected FixedDepthPlayer(String name, int depth) throws IllegalArgumentException {
+        if (depth < 1)
+            throw new IllegalArgumentException("Depth must be positive: " + depth);
+        this.name = name != null ? name : "FixedDepth" + depth;
+        this.depth = depth;
+    }
+
+    /**
+     * Creates a player searching up to the given depth
+     *
+     * @param depth Depth of the search
+     *
+     * @return the new player
+     *
+     * @throws IllegalArgumentException If depth is not positive
+     */
+    public static FixedDepthPlayer withDepth(int depth) throws IllegalArgumentException {
+        return new FixedDepthPlayer(null, depth);
+    }
+
+    public void initPlayer(int M, int N, int K, boolean first, int timeout_in_secs) {
+        // New random seed for each game
+        rand = new Random(System.currentTimeMillis());
+        myWin = first ? CXGameState.WINP1 : CXGameState.WINP2;
+        yourWin = first ? CXGameState.WINP2 : CXGameState.WINP1;
+        TIMEOUT = timeout_in_secs;
+
+        this.M = M;
+        this.N = N;
+        this.K = K;
+
+        this.first = first;
+
+        this.moves = new int[depth + 1][N];
+        initMoveOrder();
+        if(useTransTable)
+            initTransTable();
+        if(numOfThreads > 1 && rootPool == null){
+            // idle threads end after a second, so that the players thrown away by the testers leave no threads
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(numOfThreads, numOfThreads, 1, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), task -> {
+                        Thread t = new Thread(task, name + " root search");
+                        t.setDaemon(true); // the threads never keep the JVM alive
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            rootPool = pool;
+        }
+    }
+
+    // Save the centre-first column order. Columns closer to the centre of the table are examined first
+    private void initMoveOrder(){
+        moveOrder = new int[N];
+        for(int i = 0; i < N; i++){
+            if(i % 2 == 0)
+                moveOrder[i] = N/2 + i/2;
+            else
+                moveOrder[i] = N/2 - i/2 - 1;
+        }
+    }
+
+    // Initialize the transposition table, shared by the threads of the parallel search if there are more than one
+    private void initTransTable(){
+        zobristSeed = rand.nextLong();
+        int desiredCapacity = (int)Math.min(Math.pow(N, depth), Integer.MAX_VALUE); // at most one entry per searched node
+        if(numOfThreads > 1)
+            transTable = CXTranspositionTable.allocate(desiredCapacity, CXTranspositionTable.budgetMB(), CXSharedTranspositionTable::new);
+        else
+            transTable = CXTranspositionTable.allocate(desiredCapacity, CXTranspositionTable.budgetMB());
+    }
+
+    /**
+     * Selects a free colum on game board.
+     * <p>
+     * Selects the column with the best score found by the search. If the
+     * search does not end before the timeout, selects a random column.
+     * </p>
+     */
+    public int selectColumn(CXBoard B) {
+        START = System.currentTimeMillis(); // Save starting time
+
+        int alpha = Integer.MIN_VALUE;
+        int beta = Integer.MAX_VALUE;
+        int player = B.currentPlayer();
+        Integer[] L = B.getAvailableColumns();
+        if(transTable != null){
+            B.enableHashing(zobristSeed);
+            transTable.newSearch();
+        }
+
+        try{
+            if(numOfThreads > 1)
+                return rootSearch(B, player);
+            int[] eval = alphaBeta(B, depth, player,  alpha, beta, moves);
+            if(eval[0] == Integer.MIN_VALUE)
+                return L[rand.nextInt(L.length)]; // every column loses
+            return eval[1];
+        }catch(TimeoutException e){
+            System.err.println("Timeout " + name + ", random column returned");
+            return L[rand.nextInt(L.length)];
+        }
+    }
+
+    // Searches each root column on its own thread and copy of the board. The best score found so far is shared as
+    // alpha, so that the searches starting later prune more
+    private int rootSearch(CXBoard board, int player) throws TimeoutException {
+        int[] L = moves[depth];
+        int n = fillColumns(board, L);
+        AtomicInteger sharedAlpha = new AtomicInteger(Integer.MIN_VALUE);
+        List<Future<int[]>> results = new ArrayList<Future<int[]>>(n);
+
+        for (int k = 0; k < n; k++) {
+            int col = L[k];
+            CXBoard child = board.copy();
+            results.add(rootPool.submit(() -> {
+                int alpha = sharedAlpha.get();
+                child.markColumn(col);
+                int score = alphaBeta(child, depth - 1, player, alpha, Integer.MAX_VALUE, new int[depth][N])[0];
+                sharedAlpha.accumulateAndGet(score, Math::max);
+                return new int[]{score, alpha};
+            }));
+        }
+
+        // A score not above the alpha its search started with is only an upper bound, so it cannot be the best
+        int bestScore = Integer.MIN_VALUE, bestCol = L[rand.nextInt(n)];
+        try{
+            for (int k = 0; k < n; k++) {
+                int[] eval = results.get(k).get();
+                boolean exact = eval[0] > eval[1] || eval[1] == Integer.MIN_VALUE;
+                if (exact && eval[0] > bestScore) {
+                    bestScore = eval[0];
+                    bestCol = L[k];
+                }
+            }
+        } catch (InterruptedException e) {
+            cancel(results);
+            Thread.currentThread().interrupt();
+            throw new TimeoutException();
+        } catch (ExecutionException e) {
+            cancel(results);
+            if (e.getCause() instanceof TimeoutException)
+                throw (TimeoutException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+        return bestCol;
+    }
+
+    // Cancels the searches of the root columns still queued or running, so that none of them is left to search an
+    // old position during the next move
+    private static void cancel(List<Future<int[]>> results){
+        for (Future<int[]> f : results)
+            f.cancel(true);
+    }
+
+    // Fills L with the free columns in search order and returns their number
+    private int fillColumns(CXBoard board, int[] L){
+        if(!centerFirst)
+            return board.fillAvailableColumns(L);
+        int n = 0;
+        for(int col : moveOrder)
+            if(!board.fullColumn(col))
+                L[n++] = col;
+        return n;
+    }
+
+    private int[] alphaBeta(CXBoard board, int depth, int player, int alpha, int beta, int[][] moves) throws TimeoutException {
+
+        if (board.gameState() != CXGameState.OPEN) {
+            if (board.gameState() == CXGameState.DRAW)
+                return new int[] {0, -1};
+            else
+                return new int[] {((board.gameState() == myWin) ? Integer.MAX_VALUE : Integer.MIN_VALUE), -1};
+        } else if (depth == 0)
+            return new int[]{0, -1};
+
+        // Check transposition table: exact scores are returned, bounds narrow the search window
+        if(transTable != null){
+            long saved = transTable.probe(board.canonicalHash());
+            if(saved != 0 && CXTranspositionTable.depth(saved) >= depth){
+                int savedScore = CXTranspositionTable.score(saved);
+                int savedCol = board.canonicalColumn(CXTranspositionTable.move(saved)); // entries are saved in canonical orientation
+                switch(CXTranspositionTable.bound(saved)){
+                    case CXTranspositionTable.EXACT:
+                        return new int[]{savedScore, savedCol};
+                    case CXTranspositionTable.LOWER:
+                        alpha = Math.max(alpha, savedScore);
+                        break;
+                    case CXTranspositionTable.UPPER:
+                        beta = Math.min(beta, savedScore);
+                        break;
+                }
+                if(beta <= alpha)
+                    return new int[]{savedScore, savedCol};
+            }
+        }
+        int searchAlpha = alpha, searchBeta = beta; // window of this search, to tell exact scores from bounds
+
+        int[] L = moves[depth];
+        int n = fillColumns(board, L);
+        // the first column is kept only if every column scores the worst value: the root then picks a random one,
+        // so that the recursion does not share the generator between the threads of the root search
+        int bestScore, bestCol = L[0];
+
+        // If it's the maximizing player's turn, initialize the best score to the smallest possible value
+        if (board.currentPlayer() == player) {
+            bestScore = Integer.MIN_VALUE;
+            // Iterate over all possible moves and recursively evaluate each one
+            for (int k = 0; k < n; k++) {
+                int col = L[k];
+                checktime();
+                board.markColumn(col);
+                int[] eval = alphaBeta(board, depth - 1, player, alpha, beta, moves);
+                if (eval[0] > bestScore) {
+                    bestScore = eval[0];
+                    bestCol = col;
+                }
+                board.unmarkColumn();
+                alpha = Math.max(alpha, bestScore);
+                if (beta <= alpha)
+                    break; // Beta cutoff
+            }
+        }
+        // If it's the minimizing player's turn, initialize the best score to the largest possible value
+        else {
+            bestScore = Integer.MAX_VALUE;
+            // Iterate over all possible moves and recursively evaluate each one
+            for (int k = 0; k < n; k++) {
+                int col = L[k];
+                checktime();
+                board.markColumn(col);
+                int[] eval = alphaBeta(board, depth - 1, player, alpha, beta, moves);
+                board.unmarkColumn();
+
+                if (eval[0] < bestScore) {
+                    bestScore = eval[0];
+                    bestCol = col;
+                }
+                beta = Math.min(beta, bestScore);
+                if (beta <= alpha)
+                    break; // Alpha cutoff
+            }
+        }
+
+        // Save data in transposition table. Scores outside the search window are only bounds of the real score.
+        // Wins and losses are proven, so they are valid at any depth
+        if(transTable != null){
+            int bound;
+            if(bestScore <= searchAlpha)
+                bound = CXTranspositionTable.UPPER;
+            else if(bestScore >= searchBeta)
+                bound = CXTranspositionTable.LOWER;
+            else
+                bound = CXTranspositionTable.EXACT;
+            boolean proven = bestScore == Integer.MIN_VALUE || bestScore == Integer.MAX_VALUE;
+            transTable.store(board.canonicalHash(), bestScore, board.canonicalColumn(bestCol), proven ? CXTranspositionTable.MAX_DEPTH : depth, bound);
+        }
+
+        return new int[]{bestScore, bestCol};
+    }
+
+    // The search also stops when its thread is interrupted, as the searches of the root columns are when cancelled
+    private void checktime() throws TimeoutException {
+        if (Thread.currentThread().isInterrupted() || (System.currentTimeMillis() - START) / 1000.0 >= TIMEOUT * (99.0 / 100.0))
+            throw new TimeoutException();
+    }
+
+    public String playerName() {
+        return name;
+    }
+}
@@ -19,15 +19,23 @@
 package connectx.IDPlayer;
 
 import connectx.CXPlayer;
+import connectx.CXNodeCounter;
 import connectx.CXBoard;
 import connectx.CXGameState;
 import connectx.CXCell;
 import connectx.CXCellState;
+import connectx.CXTranspositionTable;
+import connectx.CXSharedTranspositionTable;
 
 import java.util.TreeSet;
 import java.util.Random;
 import java.util.concurrent.TimeoutException;
-import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 import java.util.Arrays;
 
 /**
@@ -37,7 +45,7 @@ import java.util.Arrays;
  * randomly.
  * </p>
  */
-public class IDPlayer implements CXPlayer {
+public class IDPlayer implements CXPlayer, CXNodeCounter {
 
     private Random rand;
     private CXGameState myWin;
@@ -47,16 +55,44 @@ public class IDPlayer implements CXPlayer {
 
     // Array containing the column visit order. Priority is assigned to central columns
     int[] moveOrder;
-    // Table of values used to calculate hash key
-    long[][][] zobristTable;
+    // Seed of the Zobrist keys used by the boards to hash positions. The same seed is used at every move, so that
+    // the transposition table entries stay valid for the whole game
+    long zobristSeed;
     // Transposition table to save evaluation of calculated configurations
-    LinkedHashMap<Long, int[]> transTable;
-    // The maximum allowed size for the transposition table
-    int maxTTSize = 20000000;
-    // The size of the transposition table used (the dimension it is initialized to, not the actual number of entries)
-    int transTableSize;
-    // Key identifying the current board configuration. Used to save values in transposition table
-    long hashKey;
+    CXTranspositionTable transTable;
+    // Per-ply buffers of the columns to search, in search order
+    int[][] moves;
+    // Principal variation of the current iteration: pvTable[ply] holds the best line found from ply, up to pvLength[ply]
+    int[][] pvTable;
+    int[] pvLength;
+    // Principal variation of the previous iteration, searched first while followPV is set
+    int[] prevPV;
+    int prevPVLength;
+    boolean followPV;
+    // Number of threads of the search, set with -Dcx.threads. With more than one thread the search is a Lazy SMP:
+    // helper players search the same tree at staggered depths, sharing the transposition table, and only the
+    // result of the main player is used
+    int numOfThreads = Integer.getInteger("cx.threads", 1);
+    // The player which owns the search (this for the main player) and the index of this thread (0 for the main player)
+    IDPlayer main = this;
+    int threadId;
+    // Helpers of the parallel search and the threads running them
+    IDPlayer[] helpers;
+    ExecutorService helperPool;
+    // Set by the main player when its search ends, to stop the helpers
+    volatile boolean stopped;
+    // Whether the search is a negamax Principal Variation Search (-Dcx.search=pvs) rather than the minimax alpha-beta
+    boolean pvsSearch = "pvs".equals(System.getProperty("cx.search"));
+    // Whether the score of each iteration is found by MTD(f), with null-window searches only (-Dcx.search=mtdf)
+    boolean mtdfSearch = "mtdf".equals(System.getProperty("cx.search"));
+
+    // Score of a win: a win reached ply moves after the root scores WIN - ply, a loss -(WIN - ply), so that the
+    // fastest wins and the slowest losses are preferred. Scores beyond MATE (in absolute value) are wins and losses
+    static final int WIN = 1 << 24;
+    static final int MATE = WIN / 2;
+
+    // Nodes searched by this thread for the current move
+    long nodes;
 
     // Game settings
     int numOfRows; //rows
@@ -69,6 +105,22 @@ public class IDPlayer implements CXPlayer {
     public IDPlayer() {
     }
 
+    // Helper of the parallel search: it plays the same game as main and shares its transposition table
+    private IDPlayer(IDPlayer main, int threadId) {
+        this.main = main;
+        this.threadId = threadId;
+        myWin = main.myWin;
+        yourWin = main.yourWin;
+        TIMEOUT = main.TIMEOUT;
+        numOfRows = main.numOfRows;
+        numOfCols = main.numOfCols;
+        K = main.K;
+        first = main.first;
+        moveOrder = helperMoveOrder(main.moveOrder, threadId);
+        zobristSeed = main.zobristSeed;
+        transTable = main.transTable;
+    }
+
     public void initPlayer(int M, int N, int K, boolean first, int timeout_in_secs) {
         // New random seed for each game
         rand = new Random(System.currentTimeMillis());
@@ -82,8 +134,11 @@ public class IDPlayer implements CXPlayer {
         this.first = first;
 
         initMoveOrder();
-        initZobristTable();
+        moves = null; // the search buffers depend on the board size
+        prevPV = null;
+        zobristSeed = rand.nextLong();
         initTransTable();
+        initHelpers();
     }
 
     // Save the desired move order in array. Columns closer to the centre of the table are examined first
@@ -97,27 +152,66 @@ public class IDPlayer implements CXPlayer {
         }
     }
 
-    // Initialize the table used for Zobrist hashing and set the hash key to zero
-    private void initZobristTable(){
-        zobristTable = new long[numOfRows][numOfCols][2];
-        for (int r = 0; r < numOfRows; r++) {
-            for (int c = 0; c < numOfCols; c++) {
-                for (int p = 0; p < 2; p++) {
-                    zobristTable[r][c][p] = rand.nextLong();
-                }
-            }
+    // Column order of a helper: the central column stays first, the columns of each half of the board after it are
+    // rotated by amounts given by the digits of the index of the helper, so that the helpers get all the
+    // combinations of the two rotations before any order repeats. Even positions still hold the right half of the
+    // board, as orderColumns needs in symmetric configurations
+    private static int[] helperMoveOrder(int[] order, int threadId){
+        int[] rotated = order.clone();
+        int rest = threadId;
+        for(int start = 1; start <= 2; start++){ // odd positions (left half), then even positions after the centre
+            int n = (order.length - start + 1) / 2;
+            if(n == 0)
+                continue;
+            int shift = rest % n;
+            rest /= n;
+            for(int k = 0; k < n; k++)
+                rotated[start + 2 * k] = order[start + 2 * ((k + shift) % n)];
         }
-        hashKey = 0;
+        return rotated;
+    }
+
+    // Depths skipped by the helpers: helper i skips the depths where (depth + SKIP_PHASE[i]) / SKIP_SIZE[i] is odd,
+    // so that at any time the helpers are spread over the next few iterations rather than all searching the same one
+    private static final int[] SKIP_SIZE  = { 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4 };
+    private static final int[] SKIP_PHASE = { 0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7 };
+
+    // Whether this thread skips the iteration of the given depth. The main player searches every depth
+    private boolean skipDepth(int depth){
+        if(threadId == 0)
+            return false;
+        int i = (threadId - 1) % SKIP_SIZE.length;
+        return (depth + SKIP_PHASE[i]) / SKIP_SIZE[i] % 2 == 1;
     }
 
     // Initialize the transposition table
     private void initTransTable(){
         int desiredMemoryDepth = 8; // parameter to calculate the desired capacity of the table
         int desiredCapacity = (int)Math.pow(numOfCols, desiredMemoryDepth); // how many entries we'd like to have at most in the table
-        int desiredSize = desiredCapacity * 4 / 3; // the necessary size to have desiredCapacity entries and load factor <= 0.75
 
-        transTableSize = Math.min(desiredSize, maxTTSize); // size of the table
-        transTable = new LinkedHashMap<Long, int[]>(transTableSize, 1); //load factor set to 1 because no rehashing will be done
+        // the table never takes more than the memory budget set with -Dcx.tt.mb
+        if(numOfThreads > 1)
+            transTable = CXTranspositionTable.allocate(desiredCapacity, CXTranspositionTable.budgetMB(), CXSharedTranspositionTable::new);
+        else
+            transTable = CXTranspositionTable.allocate(desiredCapacity, CXTranspositionTable.budgetMB());
+    }
+
+    // Create the helpers of the parallel search. The threads running them are kept from one game to the next, and
+    // end when they have been idle for a second, so that the players thrown away by the testers leave no threads
+    private void initHelpers(){
+        helpers = new IDPlayer[Math.max(numOfThreads - 1, 0)];
+        for(int i = 0; i < helpers.length; i++)
+            helpers[i] = new IDPlayer(this, i + 1);
+        if(helperPool == null && helpers.length > 0){
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(helpers.length, helpers.length, 1, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), task -> {
+                        Thread t = new Thread(task, "IDPlayer helper");
+                        t.setDaemon(true); // the helpers never keep the JVM alive
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            helperPool = pool;
+        }
     }
 
     /**
@@ -131,84 +225,160 @@ public class IDPlayer implements CXPlayer {
     public int selectColumn(CXBoard B) {
         START = System.currentTimeMillis(); // Save starting time
 
-        CXBoard copyOfBoard = B.copy(); //save original board
-        hashKey = updateHashKey(copyOfBoard, hashKey); //update hashKey to include opposer move
+        B.enableHashing(zobristSeed); // the board keeps the position key up to date from now on
+        transTable.newSearch();
+        nodes = 0;
 
         // parametres for Iterative Deepening
         int alpha = Integer.MIN_VALUE;
         int beta = Integer.MAX_VALUE;
         int player = B.currentPlayer();
 
-        // compute best choice for current configuration
-        int choice = ID(B, player, alpha, beta, hashKey);
+        // compute best choice for current configuration, while the helpers (if any) fill the transposition table
+        Future<?>[] running = startHelpers(B, player, alpha, beta);
+        int col = ID(B, player, alpha, beta);
+        stopHelpers(running);
+        return col;
+    }
 
-        // update hashKey to include player move
-        copyOfBoard.markColumn(choice);
-        hashKey = updateHashKey(copyOfBoard, hashKey);
+    // Start the helpers of the parallel search, each one on its own copy of the board
+    private Future<?>[] startHelpers(CXBoard board, int player, int alpha, int beta){
+        stopped = false;
+        Future<?>[] running = new Future<?>[helpers.length];
+        for(int i = 0; i < helpers.length; i++){
+            IDPlayer helper = helpers[i];
+            CXBoard copy = board.copy();
+            helper.START = START;
+            helper.nodes = 0;
+            running[i] = helperPool.submit(() -> helper.ID(copy, player, alpha, beta));
+        }
+        return running;
+    }
 
-        return choice;
+    // Stop the helpers of the parallel search and wait for them, so that they are idle before the next move
+    private void stopHelpers(Future<?>[] running){
+        stopped = true;
+        try{
+            for(Future<?> f : running)
+                f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // the player is being stopped, the helpers stop by themselves
+        } catch (ExecutionException e) { } // a failed helper does not affect the result of the main player
     }
 
-    private int ID(CXBoard board, int player, int alpha, int beta, long hashKey) {
-        int bestSavedScore = Integer.MIN_VALUE; // initialize bestScore to loss
+    private int ID(CXBoard board, int player, int alpha, int beta) {
+        int bestSavedScore = -WIN; // initialize bestScore to loss
         int bestSavedCol = board.getAvailableColumns()[0]; // save random column
         int freeCells = board.numOfFreeCells(); //maximum depth that can be searched
+        prevPVLength = 0; // the principal variation of the previous move starts from another position
+        int guess = 0; // first guess of MTD(f): the score of the previous iteration
 
         try{
             for (int depth = 1; depth <= freeCells; depth++) {
-                int[] eval = alphaBeta(board, depth, player, alpha, beta, hashKey);
-                if(eval[0] == Integer.MIN_VALUE)
-                    break;
-                else{
-                    bestSavedScore = eval[0];
-                    bestSavedCol = eval[1];
-                    if(bestSavedScore >= beta)
-                        break;
+                if(skipDepth(depth))
+                    continue;
+                initSearchBuffers(depth);
+                followPV = true;
+                int[] eval;
+                if(mtdfSearch){
+                    eval = mtdf(board, depth, guess);
+                    guess = eval[0];
                 }
-                System.err.println("Max depth " + depth + " TT Size " + transTable.size());
+                else if(pvsSearch)
+                    eval = pvs(board, depth, Math.max(alpha, -Integer.MAX_VALUE), beta, 0); // negamax windows are symmetric
+                else
+                    eval = alphaBeta(board, depth, player, alpha, beta, 0);
+                bestSavedScore = eval[0];
+                bestSavedCol = eval[1];
+                // save the principal variation, to be searched first by the next iteration (MTD(f) saves it
+                // after each of its searches)
+                if(!mtdfSearch){
+                    prevPVLength = pvLength[0];
+                    System.arraycopy(pvTable[0], 0, prevPV, 0, prevPVLength);
+                }
+                // a win or a loss within the searched depth is final: deeper searches would find the same fastest
+                // win or slowest loss. Farther ones may come from the transposition table, and are searched again
+                if(Math.abs(bestSavedScore) > MATE && WIN - Math.abs(bestSavedScore) <= depth)
+                    break;
+                if(threadId == 0)
+                    System.err.println("Max depth " + depth + " TT Size " + transTable.size());
             }
         } catch (TimeoutException e) { }
 
         return bestSavedCol;
     }
 
-    private int[] alphaBeta(CXBoard board, int depth, int player, int alpha, int beta, long hashKey) throws TimeoutException {
+    // Make the per-ply buffers large enough for a search of the given depth
+    private void initSearchBuffers(int depth){
+        if(moves != null && moves.length > depth)
+            return;
+        moves = new int[depth + 1][numOfCols + 1];
+        pvTable = new int[depth + 1][depth + 1];
+        pvLength = new int[depth + 1];
+        int[] pv = new int[depth + 1];
+        if(prevPV != null)
+            System.arraycopy(prevPV, 0, pv, 0, prevPVLength);
+        prevPV = pv;
+    }
+
+    private int[] alphaBeta(CXBoard board, int depth, int player, int alpha, int beta, int ply) throws TimeoutException {
+        nodes++;
+        pvLength[ply] = ply; // the principal variation from this node is empty until a move is searched
 
         // Evaluate leaf / open configuration reached at depth = 0
         if (board.gameState() != CXGameState.OPEN) {
             if (board.gameState() == CXGameState.DRAW)
                 return new int[] {0, -1}; // -1 is a placeholder
             else
-                return new int[] {((board.gameState() == myWin) ? Integer.MAX_VALUE : Integer.MIN_VALUE), -1};
+                return new int[] {((board.gameState() == myWin) ? WIN - ply : -(WIN - ply)), -1};
         } else if (depth == 0)
             return new int[]{0, -1}; // treat open configuration as a draw
 
-        // Check transposition table and return saved data if found
-        int[] saved = checkTransTable(hashKey);
-        if(saved != null)
-            return saved;
+        // Check transposition table: exact scores are returned, bounds outside the search window cause a cutoff. The
+        // window is not narrowed by the bounds, since proven wins and losses of deeper searches would make the scores
+        // inside the window inexact. The saved column is searched first even if the entry is not deep enough
+        long saved = checkTransTable(board.canonicalHash());
+        int ttCol = -1;
+        if(saved != 0){
+            int savedScore = scoreFromTransTable(CXTranspositionTable.score(saved), ply);
+            ttCol = board.canonicalColumn(CXTranspositionTable.move(saved)); // entries are saved in canonical orientation
+            if(CXTranspositionTable.depth(saved) >= depth){
+                int bound = CXTranspositionTable.bound(saved);
+                if(bound == CXTranspositionTable.EXACT
+                        || (bound == CXTranspositionTable.LOWER && savedScore >= beta)
+                        || (bound == CXTranspositionTable.UPPER && savedScore <= alpha))
+                    return new int[]{savedScore, ttCol};
+            }
+        }
+        int searchAlpha = alpha, searchBeta = beta; // window of this search, to tell exact scores from bounds
 
-        int bestScore, bestCol = -1, colsToCheck;
+        // Along the principal variation of the previous iteration, its move is searched first
+        int pvCol = -1;
+        if(followPV){
+            if(ply < prevPVLength)
+                pvCol = prevPV[ply];
+            else
+                followPV = false;
+        }
 
-        // Symmetry check
-        boolean isSymmetric = isSymmetric(board);
+        int[] cols = orderColumns(board, pvCol, ttCol, ply);
+        int colsToCheck = cols[numOfCols];
+        int bestScore, bestCol = -1;
 
         // If it's the player's turn, initialize the best score to the smallest possible value
         if (board.currentPlayer() == player) {
             bestScore = Integer.MIN_VALUE;
-            for (int i = 0; i < numOfCols; i = isSymmetric ? i+2 : i+1) {
-                int col = moveOrder[i];
-                if(board.fullColumn(col))
-                    continue;
+            for (int i = 0; i < colsToCheck; i++) {
+                int col = cols[i];
                 checktime();
                 board.markColumn(col);
-                hashKey = updateHashKey(board, hashKey);
-                int[] eval = alphaBeta(board, depth - 1, player, alpha, beta, hashKey);
+                int[] eval = alphaBeta(board, depth - 1, player, alpha, beta, ply + 1);
+                followPV = false; // the other children are not on the principal variation
                 if (eval[0] > bestScore) {
                     bestScore = eval[0];
                     bestCol = col;
+                    updatePV(ply, col);
                 }
-                hashKey = updateHashKey(board, hashKey); // Undo changes to hashKey by xoring again with same value
                 board.unmarkColumn();
                 alpha = Math.max(alpha, bestScore);
                 if (beta <= alpha)
@@ -218,19 +388,17 @@ public class IDPlayer implements CXPlayer {
         // If it's the opposing player's turn, initialize the best score to the largest possible value
         else {
             bestScore = Integer.MAX_VALUE;
-            for (int i = 0; i < numOfCols; i = isSymmetric ? i+2 : i+1) {
-                int col = moveOrder[i];
-                if(board.fullColumn(col))
-                    continue;
+            for (int i = 0; i < colsToCheck; i++) {
+                int col = cols[i];
                 checktime();
                 board.markColumn(col);
-                hashKey = updateHashKey(board, hashKey);
-                int[] eval = alphaBeta(board,depth - 1, player, alpha, beta, hashKey);
+                int[] eval = alphaBeta(board,depth - 1, player, alpha, beta, ply + 1);
+                followPV = false; // the other children are not on the principal variation
                 if (eval[0] < bestScore) {
                     bestScore = eval[0];
                     bestCol = col;
+                    updatePV(ply, col);
                 }
-                hashKey = updateHashKey(board, hashKey); // Undo changes to hashKey by xoring again with same value
                 board.unmarkColumn();
                 beta = Math.min(beta, bestScore);
                 if (beta <= alpha)
@@ -238,54 +406,209 @@ public class IDPlayer implements CXPlayer {
             }
         }
 
-        // Save data in transposition table if winning / losing configuration is found
-        if(bestScore == Integer.MIN_VALUE || bestScore == Integer.MAX_VALUE)
-            updateTransTable(hashKey, new int[]{bestScore, bestCol});
+        saveResult(board, bestScore, bestCol, depth, ply, searchAlpha, searchBeta);
 
         return new int[]{bestScore, bestCol};
     }
 
-    // Returns true if the board configuration is symmetric
-    boolean isSymmetric(CXBoard board)throws TimeoutException{
-        checktime();
-        CXCell[] MC = board.getMarkedCells();
-        for(CXCell cell : MC){
-            if(board.cellState(cell.i, numOfCols - cell.j - 1) != cell.state)
-                return false;
+    // MTD(f): the score of the position is found with null-window searches only, each one telling whether the score
+    // is lower than a test value, and narrowing the bounds of the score from the first guess. Draws converge in two
+    // or three searches, wins and losses in a few more to find their distance. Scores are those of pvs
+    private int[] mtdf(CXBoard board, int depth, int guess) throws TimeoutException {
+        int lower = -WIN, upper = WIN;
+        int[] best = null;
+
+        while(lower < upper){
+            int beta = (guess == lower) ? guess + 1 : guess;
+            followPV = true;
+            int[] eval = pvs(board, depth, beta - 1, beta, 0);
+            guess = eval[0];
+            if(guess < beta)
+                upper = guess;
+            else{
+                // the column of a search failing high scores at least guess, so it is the best one found so far
+                lower = guess;
+                best = eval;
+                prevPVLength = pvLength[0];
+                System.arraycopy(pvTable[0], 0, prevPV, 0, prevPVLength);
+            }
+            if(best == null)
+                best = new int[]{guess, eval[1]}; // every column loses unless a search fails high
         }
-        return true;
+        return new int[]{lower, best[1]};
     }
 
-    // Update hashKey to include last move. Returns the updated hashKey
-    long updateHashKey(CXBoard board, long hashKey){
-        CXCell lastMove = board.getLastMove();
-        if(lastMove != null) {
-            int lastPlayer = (lastMove.state == CXCellState.P1) ? 0 : 1;
-            hashKey ^= zobristTable[lastMove.i][lastMove.j][lastPlayer];
+    // Negamax Principal Variation Search: scores are from the point of view of the player to move, with wins scored
+    // WIN - ply and losses -(WIN - ply). The first column is searched with the full window, the others
+    // with a null window which only tells whether they are better than the best so far: they are searched again with
+    // the full window only when they are
+    private int[] pvs(CXBoard board, int depth, int alpha, int beta, int ply) throws TimeoutException {
+        nodes++;
+        pvLength[ply] = ply; // the principal variation from this node is empty until a move is searched
+
+        // Evaluate leaf / open configuration reached at depth = 0
+        if (board.gameState() != CXGameState.OPEN) {
+            if (board.gameState() == CXGameState.DRAW)
+                return new int[] {0, -1}; // -1 is a placeholder
+            else
+                return new int[] {-(WIN - ply), -1}; // the last move won, so the player to move lost
+        } else if (depth == 0)
+            return new int[]{0, -1}; // treat open configuration as a draw
+
+        // Check transposition table: exact scores are returned, bounds outside the search window cause a cutoff. The
+        // window is not narrowed by the bounds, since proven wins and losses of deeper searches would make the scores
+        // inside the window inexact. The saved column is searched first even if the entry is not deep enough
+        long saved = checkTransTable(board.canonicalHash());
+        int ttCol = -1;
+        if(saved != 0){
+            int savedScore = scoreFromTransTable(CXTranspositionTable.score(saved), ply);
+            ttCol = board.canonicalColumn(CXTranspositionTable.move(saved)); // entries are saved in canonical orientation
+            if(CXTranspositionTable.depth(saved) >= depth){
+                int bound = CXTranspositionTable.bound(saved);
+                if(bound == CXTranspositionTable.EXACT
+                        || (bound == CXTranspositionTable.LOWER && savedScore >= beta)
+                        || (bound == CXTranspositionTable.UPPER && savedScore <= alpha))
+                    return new int[]{savedScore, ttCol};
+            }
+        }
+        int searchAlpha = alpha, searchBeta = beta; // window of this search, to tell exact scores from bounds
+
+        // Along the principal variation of the previous iteration, its move is searched first
+        int pvCol = -1;
+        if(followPV){
+            if(ply < prevPVLength)
+                pvCol = prevPV[ply];
+            else
+                followPV = false;
+        }
+
+        int[] cols = orderColumns(board, pvCol, ttCol, ply);
+        int colsToCheck = cols[numOfCols];
+        int bestScore = Integer.MIN_VALUE, bestCol = -1; // every score is larger than Integer.MIN_VALUE
+
+        for (int i = 0; i < colsToCheck; i++) {
+            int col = cols[i];
+            checktime();
+            board.markColumn(col);
+            int score;
+            if (i == 0)
+                score = -pvs(board, depth - 1, -beta, -alpha, ply + 1)[0];
+            else {
+                score = -pvs(board, depth - 1, -alpha - 1, -alpha, ply + 1)[0];
+                if (score > alpha && score < beta) // better than the best so far: search again to get its score
+                    score = -pvs(board, depth - 1, -beta, -alpha, ply + 1)[0];
+            }
+            followPV = false; // the other children are not on the principal variation
+            board.unmarkColumn();
+            if (score > bestScore) {
+                bestScore = score;
+                bestCol = col;
+                updatePV(ply, col);
+            }
+            alpha = Math.max(alpha, bestScore);
+            if (beta <= alpha)
+                break; // cutoff
+        }
+
+        saveResult(board, bestScore, bestCol, depth, ply, searchAlpha, searchBeta);
+
+        return new int[]{bestScore, bestCol};
+    }
+
+    // Save data in transposition table. Scores outside the search window are only bounds of the real score. Some
+    // wins and losses are proven, and valid at any depth: a win (loss) as a lower (upper) bound, since the line found
+    // is forced, and an exact win or loss within the searched depth. An exact one beyond it comes from the table, and
+    // a faster win or slower loss may be beyond the depth of this search
+    private void saveResult(CXBoard board, int bestScore, int bestCol, int depth, int ply, int searchAlpha, int searchBeta) throws TimeoutException {
+        int bound;
+        if(bestScore <= searchAlpha)
+            bound = CXTranspositionTable.UPPER;
+        else if(bestScore >= searchBeta)
+            bound = CXTranspositionTable.LOWER;
+        else
+            bound = CXTranspositionTable.EXACT;
+        int score = scoreToTransTable(bestScore, ply);
+        boolean proven;
+        if(bound == CXTranspositionTable.EXACT)
+            proven = Math.abs(score) > MATE && WIN - Math.abs(score) <= depth;
+        else
+            proven = (bound == CXTranspositionTable.LOWER) ? score > MATE : score < -MATE;
+        updateTransTable(board.canonicalHash(), score, board.canonicalColumn(bestCol), proven ? CXTranspositionTable.MAX_DEPTH : depth, bound);
+    }
+
+    // Wins and losses are saved in the transposition table by their distance from the saved position rather than from
+    // the root, since the same position is reached at different plies
+    private static int scoreToTransTable(int score, int ply){
+        if(score > MATE)
+            return score + ply;
+        if(score < -MATE)
+            return score - ply;
+        return score;
+    }
+
+    // Converts a score of the transposition table back to a score relative to the root, for a position at ply
+    private static int scoreFromTransTable(int score, int ply){
+        if(score > MATE)
+            return score - ply;
+        if(score < -MATE)
+            return score + ply;
+        return score;
+    }
+
+    // Fills the move buffer of the given ply with the columns to search, in order: the principal variation column,
+    // the transposition table column, then the free columns in moveOrder. In symmetric configurations only one
+    // column of each mirrored pair is kept. The number of columns is saved after them, at index numOfCols
+    private int[] orderColumns(CXBoard board, int pvCol, int ttCol, int ply){
+        int[] cols = moves[ply];
+        boolean isSymmetric = board.isSymmetric();
+        int n = 0;
+
+        pvCol = firstColumn(board, pvCol, isSymmetric);
+        if(pvCol != -1)
+            cols[n++] = pvCol;
+        ttCol = firstColumn(board, ttCol, isSymmetric);
+        if(ttCol != -1 && ttCol != pvCol)
+            cols[n++] = ttCol;
+
+        // moveOrder alternates the two halves of the board, so even positions hold one column of each mirrored pair
+        for (int i = 0; i < numOfCols; i = isSymmetric ? i+2 : i+1) {
+            int col = moveOrder[i];
+            if(!board.fullColumn(col) && col != pvCol && col != ttCol)
+                cols[n++] = col;
         }
-        return hashKey;
+        cols[numOfCols] = n;
+        return cols;
+    }
+
+    // Checks a column suggested for being searched first: returns -1 if it cannot be played, its mirror if the
+    // configuration is symmetric and moveOrder skips it, the column itself otherwise
+    private int firstColumn(CXBoard board, int col, boolean isSymmetric){
+        if(col < 0 || col >= numOfCols || board.fullColumn(col))
+            return -1;
+        if(isSymmetric && 2 * col < numOfCols - 1)
+            return numOfCols - 1 - col;
+        return col;
+    }
+
+    // Makes col followed by the principal variation of the child the principal variation of the node at ply
+    private void updatePV(int ply, int col){
+        pvTable[ply][ply] = col;
+        System.arraycopy(pvTable[ply + 1], ply + 1, pvTable[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+        pvLength[ply] = pvLength[ply + 1];
     }
 
-    // Checks if the transposition table contains an entry with hash as key. If so, it makes it the newest element of the
-    // table and it returns it. Otherwise, it returns null.
-    int[] checkTransTable(Long hash)throws TimeoutException {
+    // Checks if the transposition table contains an entry for the position with the given key. If so, it returns it,
+    // otherwise it returns 0.
+    long checkTransTable(long hash)throws TimeoutException {
         checktime();
-        int[] saved = transTable.get(hash);
-        if(saved != null)
-            transTable.put(hash, saved); // make the entry the newest in the table
-        return saved;
+        return transTable.probe(hash);
     }
 
-    // Add new data to the transposition table. If the table capacity exceeds the maximum allowed,
-    // the oldest entry in the table is removed.
-    void updateTransTable(Long hash, int[] newRes) throws TimeoutException{
+    // Add new data to the transposition table, with the bound type of the score. If the bucket of the position is
+    // full, the table decides which entry to replace, preferring the deepest searches.
+    void updateTransTable(long hash, int score, int col, int depth, int bound) throws TimeoutException{
         checktime();
-        // remove oldest entry if load factor exceeds optimal value
-        if (transTable.size() > transTableSize*0.75) {
-            Long firstKey = transTable.keySet().iterator().next();
-            transTable.remove(firstKey);
-        }
-        transTable.put(hash, newRes);
+        transTable.store(hash, score, col, depth, bound);
     }
 
     private int heuristic(CXBoard board) throws TimeoutException {
@@ -355,10 +678,21 @@ public class IDPlayer implements CXPlayer {
     }
 
     private void checktime() throws TimeoutException {
-        if ((System.currentTimeMillis() - START) / 1000.0 >= TIMEOUT * (99.0 / 100.0))
+        if (main.stopped || (System.currentTimeMillis() - START) / 1000.0 >= TIMEOUT * (99.0 / 100.0))
             throw new TimeoutException();
     }
 
+    /**
+     * Returns the number of nodes searched to select the last column, by
+     * all the threads of the search
+     */
+    public long searchedNodes() {
+        long total = nodes;
+        for(IDPlayer helper : helpers)
+            total += helper.nodes;
+        return total;
+    }
+
     public String playerName() {
         return "IDPlayer";
     }
@@ -19,15 +19,16 @@
 package connectx.IDPlayerHeur;
 
 import connectx.CXPlayer;
+import connectx.CXNodeCounter;
 import connectx.CXBoard;
 import connectx.CXGameState;
 import connectx.CXCell;
 import connectx.CXCellState;
+import connectx.CXTranspositionTable;
 
 import java.util.TreeSet;
 import java.util.Random;
 import java.util.concurrent.TimeoutException;
-import java.util.LinkedHashMap;
 import java.util.Arrays;
 
 /**
@@ -37,7 +38,7 @@ import java.util.Arrays;
  * randomly.
  * </p>
  */
-public class IDPlayerHeur implements CXPlayer {
+public class IDPlayerHeur implements CXPlayer, CXNodeCounter {
 
     private Random rand;
     private CXGameState myWin;
@@ -47,14 +48,24 @@ public class IDPlayerHeur implements CXPlayer {
 
     // Array containing the column visit order. Priority is assigned to central columns
     int[] moveOrder;
-    // Table of values used to calculate hash key
-    long[][][] zobristTable;
+    // Seed of the Zobrist keys used by the boards to hash positions. The same seed is used at every move, so that
+    // the transposition table entries stay valid for the whole game
+    long zobristSeed;
     // Transposition table to save evaluation of calculated configurations
-    LinkedHashMap<Long, int[]> transTable;
-    // The max size of the transposition table, which is determined based on board size
+    CXTranspositionTable transTable;
+    // Per-ply buffers of the columns to search, in search order
+    int[][] moves;
+    // Two killer columns per ply: the last columns which caused a cutoff at that ply
+    int[][] killers;
+    // History scores of the moves which caused cutoffs, indexed by player, row and column
+    long[][][] history;
+    // Half width of the aspiration window around the score of an earlier iteration, set with -Dcx.aspiration. The
+    // default is half an aligned coin of the heuristic; with 0 every iteration searches with the full window
+    int aspirationWindow = Integer.getInteger("cx.aspiration", 500);
+    // The number of entries of the transposition table, which is determined based on board size
     int transTableCapacity;
-    // Key identifying the current board configuration. Used to save values in transposition table
-    long hashKey;
+    // Nodes searched for the current move
+    long nodes;
 
     // Game settings
     int numOfRows; //rows
@@ -82,7 +93,9 @@ public class IDPlayerHeur implements CXPlayer {
         missed = 0;
 
         initMoveOrder();
-        initZobristTable();
+        moves = null; // the search buffers depend on the board size
+        history = new long[2][numOfRows][numOfCols];
+        zobristSeed = rand.nextLong();
         initTransTable();
     }
 
@@ -97,29 +110,15 @@ public class IDPlayerHeur implements CXPlayer {
         }
     }
 
-    // Initialize the table used for Zobrist hashing and set the hash key to zero
-    private void initZobristTable(){
-        zobristTable = new long[numOfRows][numOfCols][2];
-
-        for (int r = 0; r < numOfRows; r++) {
-            for (int c = 0; c < numOfCols; c++) {
-                for (int p = 0; p < 2; p++) {
-                    zobristTable[r][c][p] = rand.nextLong();
-                }
-            }
-        }
-        hashKey = 0;
-    }
-
     // Initialize the transposition table
     private void initTransTable(){
-        int maxCapacity = 20000000; // maximum allowed capacity for the table
         int desiredMemoryDepth = 8; // parameter to calculate the desired capacity of the table
 
         int desiredCapacity = (int)Math.pow(numOfCols, desiredMemoryDepth);
-        transTableCapacity = Math.min(desiredCapacity, maxCapacity);
 
-        transTable = new LinkedHashMap<Long, int[]>(transTableCapacity, 1);
+        // the table never takes more than the memory budget set with -Dcx.tt.mb
+        transTable = CXTranspositionTable.allocate(desiredCapacity, CXTranspositionTable.budgetMB());
+        transTableCapacity = transTable.capacity();
     }
 
     /**
@@ -133,36 +132,41 @@ public class IDPlayerHeur implements CXPlayer {
     public int selectColumn(CXBoard B) {
         START = System.currentTimeMillis(); // Save starting time
 
-        CXBoard copyOfBoard = B.copy(); //save original board
-        hashKey = updateHashKey(copyOfBoard, hashKey); //update hashKey to include opposer move
+        B.enableHashing(zobristSeed); // the board keeps the position key up to date from now on
+        transTable.newSearch();
+        nodes = 0;
 
         // parametres for Iterative Deepening
         int alpha = Integer.MIN_VALUE;
         int beta = Integer.MAX_VALUE;
         int player = B.currentPlayer();
 
-        int choice = ID(B, player, alpha, beta, hashKey);
-
-        // update hashKey to include player move
-        copyOfBoard.markColumn(choice);
-        hashKey = updateHashKey(copyOfBoard, hashKey);
-
-        return choice;
+        return ID(B, player, alpha, beta);
     }
 
-    private int ID(CXBoard board, int player, int alpha, int beta, long hashKey) {
+    private int ID(CXBoard board, int player, int alpha, int beta) {
         int bestSavedScore = Integer.MIN_VALUE; // initialize bestScore to loss
         int bestSavedCol = board.getAvailableColumns()[0]; // save random column
         int freeCells = board.numOfFreeCells(); //maximum depth that can be searched
+        // scores of the last two iterations: the heuristic scores the last move, which is made by a different player
+        // at odd and even depths, so the score of an iteration is close to the one two iterations before
+        int[] savedScores = new int[2];
+        ageHeuristics();
 
         try{
             for (int depth = 1; depth <= freeCells; depth++) {
-                int[] eval = alphaBeta(board, depth, player, alpha, beta, hashKey);
+                initSearchBuffers(depth);
+                int[] eval;
+                if(depth > 2 && aspirationWindow > 0)
+                    eval = aspirationSearch(board, depth, player, savedScores[depth % 2], alpha, beta);
+                else
+                    eval = alphaBeta(board, depth, player, alpha, beta, 0);
                 if(eval[0] == Integer.MIN_VALUE)
                     break;
                 else{
                     bestSavedScore = eval[0];
                     bestSavedCol = eval[1];
+                    savedScores[depth % 2] = bestSavedScore;
                     if(bestSavedScore >= beta)
                         break;
                 }
@@ -173,7 +177,8 @@ public class IDPlayerHeur implements CXPlayer {
         return bestSavedCol;
     }
 
-    private int[] alphaBeta(CXBoard board, int depth, int player, int alpha, int beta, long hashKey) throws TimeoutException {
+    private int[] alphaBeta(CXBoard board, int depth, int player, int alpha, int beta, int ply) throws TimeoutException {
+        nodes++;
 
         if (board.gameState() != CXGameState.OPEN) {
             if (board.gameState() == CXGameState.DRAW)
@@ -185,120 +190,214 @@ public class IDPlayerHeur implements CXPlayer {
             //return new int[]{0, -1}; // senza euristica
         //return new int[]{1, -1}; // ottimista
 
-        //Integer hash = getHash(board.getMarkedCells());
-        int[] saved = checkTransTable(hashKey, depth);
-        if(saved != null)
-            return new int[]{saved[0], saved[1]};
-
-        int bestScore, bestCol = -1, colsToCheck;
+        // Check transposition table: exact scores are returned, bounds narrow the search window
+        long saved = checkTransTable(board.canonicalHash(), depth);
+        if(saved != 0){
+            int savedScore = CXTranspositionTable.score(saved);
+            int savedCol = board.canonicalColumn(CXTranspositionTable.move(saved)); // entries are saved in canonical orientation
+            switch(CXTranspositionTable.bound(saved)){
+                case CXTranspositionTable.EXACT:
+                    return new int[]{savedScore, savedCol};
+                case CXTranspositionTable.LOWER:
+                    alpha = Math.max(alpha, savedScore);
+                    break;
+                case CXTranspositionTable.UPPER:
+                    beta = Math.min(beta, savedScore);
+                    break;
+            }
+            if(beta <= alpha)
+                return new int[]{savedScore, savedCol};
+        }
+        int searchAlpha = alpha, searchBeta = beta; // window of this search, to tell exact scores from bounds
 
-        //symmetry check
-        boolean isSymmetric = isSymmetric(board);
+        int[] cols = orderColumns(board, ply);
+        int colsToCheck = cols[numOfCols];
+        int bestScore, bestCol = -1;
 
         // If it's the player's turn, initialize the best score to the smallest possible value
         if (board.currentPlayer() == player) {
             bestScore = Integer.MIN_VALUE;
-            for (int i = 0; i < numOfCols; i = isSymmetric ? i+2 : i+1) {
-                int col = moveOrder[i];
-                if(board.fullColumn(col))
-                    continue;
+            for (int i = 0; i < colsToCheck; i++) {
+                int col = cols[i];
                 checktime();
                 board.markColumn(col);
-                hashKey = updateHashKey(board, hashKey);
-                int[] eval = alphaBeta(board, depth - 1, player, alpha, beta, hashKey);
+                int[] eval = alphaBeta(board, depth - 1, player, alpha, beta, ply + 1);
                 if (eval[0] > bestScore) {
                     bestScore = eval[0];
                     bestCol = col;
                 }
-                hashKey = updateHashKey(board, hashKey);
                 board.unmarkColumn();
                 alpha = Math.max(alpha, bestScore);
-                if (beta <= alpha)
+                if (beta <= alpha){
+                    storeCutoff(board, col, ply, depth);
                     break; // Beta cutoff
+                }
             }
         }
         // If it's the opposing player's turn, initialize the best score to the largest possible value
         else {
             bestScore = Integer.MAX_VALUE;
-            for (int i = 0; i < numOfCols; i = isSymmetric ? i+2 : i+1) {
-                int col = moveOrder[i];
-                if(board.fullColumn(col))
-                    continue;
+            for (int i = 0; i < colsToCheck; i++) {
+                int col = cols[i];
                 checktime();
                 board.markColumn(col);
-                hashKey = updateHashKey(board, hashKey);
-                int[] eval = alphaBeta(board,depth - 1, player, alpha, beta, hashKey);
+                int[] eval = alphaBeta(board,depth - 1, player, alpha, beta, ply + 1);
                 if (eval[0] < bestScore) {
                     bestScore = eval[0];
                     bestCol = col;
                 }
-                hashKey = updateHashKey(board, hashKey);
                 board.unmarkColumn();
                 beta = Math.min(beta, bestScore);
-                if (beta <= alpha)
+                if (beta <= alpha){
+                    storeCutoff(board, col, ply, depth);
                     break; // Alpha cutoff
+                }
             }
         }
 
-        //Usare questo se si gioca senza euristica
+        // Save data in transposition table. Scores outside the search window are only bounds of the real score.
+        // Wins and losses are proven, so they are valid at any depth
+        int bound;
+        if(bestScore <= searchAlpha)
+            bound = CXTranspositionTable.UPPER;
+        else if(bestScore >= searchBeta)
+            bound = CXTranspositionTable.LOWER;
+        else
+            bound = CXTranspositionTable.EXACT;
         if(bestScore == Integer.MIN_VALUE || bestScore == Integer.MAX_VALUE)
-            updateTransTable(hashKey, new int[]{bestScore, bestCol, Integer.MAX_VALUE});
-
-        //Usare questo se si gioca con euristica oppure in modo ottimista
-        if(bestScore == 0 || bestScore == Integer.MIN_VALUE || bestScore == Integer.MAX_VALUE)
-            updateTransTable(hashKey, new int[]{bestScore, bestCol, Integer.MAX_VALUE});
-        else //commentare per non salvare euristica
-            updateTransTable(hashKey, new int[]{bestScore, bestCol, depth});
+            updateTransTable(board.canonicalHash(), bestScore, board.canonicalColumn(bestCol), CXTranspositionTable.MAX_DEPTH, bound);
+        else
+            updateTransTable(board.canonicalHash(), bestScore, board.canonicalColumn(bestCol), depth, bound);
 
         return new int[]{bestScore, bestCol};
     }
 
-    // Returns true if the board configuration is symmetric
-    boolean isSymmetric(CXBoard board)throws TimeoutException{
-        checktime();
-        CXCell[] MC = board.getMarkedCells();
-        for(CXCell cell : MC){
-            if(board.cellState(cell.i, numOfCols - cell.j - 1) != cell.state)
-                return false;
+    // Searches the root with a narrow window around the guess, the score of an earlier iteration which is likely
+    // close to the new score. When the score falls outside the window (fail low / fail high), the window is widened on that
+    // side, twice as much each time, and the root is searched again, until the score is inside the window or beyond
+    // the bounds alpha and beta. Bounds from the failed searches stay in the transposition table and speed up the
+    // searches which follow
+    private int[] aspirationSearch(CXBoard board, int depth, int player, int guess, int alpha, int beta) throws TimeoutException {
+        long delta = aspirationWindow;
+        int low = (int)Math.max(alpha, guess - delta);
+        int high = (int)Math.min(beta, guess + delta);
+
+        while(true){
+            int[] eval = alphaBeta(board, depth, player, low, high, 0);
+            if(eval[0] <= low && low > alpha){
+                delta *= 2;
+                low = (int)Math.max(alpha, eval[0] - delta); // fail low: the score is at most eval[0]
+            }
+            else if(eval[0] >= high && high < beta){
+                delta *= 2;
+                high = (int)Math.min(beta, eval[0] + delta); // fail high: the score is at least eval[0]
+            }
+            else
+                return eval;
         }
-        return true;
     }
 
-    // Update hashKey to include last move. Returns the updated hashKey
-    long updateHashKey(CXBoard board, long hashKey){
-        CXCell lastMove = board.getLastMove();
-        if(lastMove != null) {
-            int lastPlayer = (lastMove.state == CXCellState.P1) ? 0 : 1;
-            hashKey ^= zobristTable[lastMove.i][lastMove.j][lastPlayer];
+    // Make the per-ply buffers large enough for a search of the given depth. The killers are indexed by ply from
+    // the root, so those of the shallower plies are kept for the next iterations
+    private void initSearchBuffers(int depth){
+        if(moves != null && moves.length > depth)
+            return;
+        moves = new int[depth + 1][numOfCols + 1];
+        int kept = killers == null ? 0 : killers.length;
+        killers = kept == 0 ? new int[depth + 1][] : Arrays.copyOf(killers, depth + 1);
+        for(int ply = kept; ply <= depth; ply++){
+            killers[ply] = new int[2];
+            Arrays.fill(killers[ply], -1);
         }
-        return hashKey;
     }
 
-    // Checks if the transposition table contains an entry with hash as key. If so, it makes it the newest element of the
-    // table and it returns it. Otherwise, it returns null.
-    int[] checkTransTable(Long hash, int depth)throws TimeoutException {
-        checktime();
-        int[] saved = transTable.get(hash);
-        if(saved != null && saved[2] >= depth){
-            transTable.put(hash, saved); // make the element the newest in the table
-            return saved;
+    // Fills the move buffer of the given ply with the columns to search, in order: the killer columns of the ply,
+    // then the other free columns by decreasing history score. In symmetric configurations only one column of
+    // each mirrored pair is kept. The number of columns is saved after them, at index numOfCols
+    private int[] orderColumns(CXBoard board, int ply){
+        int[] cols = moves[ply];
+        boolean isSymmetric = board.isSymmetric();
+        int n = 0;
+
+        for(int k = 0; k < 2; k++){
+            int killer = killers[ply][k];
+            if(killer == -1 || board.fullColumn(killer))
+                continue;
+            if(isSymmetric && 2 * killer < numOfCols - 1)
+                killer = numOfCols - 1 - killer; // the half of the board searched by moveOrder
+            if(!contains(cols, n, killer))
+                cols[n++] = killer;
         }
-        else
-            return null;
+
+        // moveOrder alternates the two halves of the board, so even positions hold one column of each mirrored pair
+        int first = n;
+        for (int i = 0; i < numOfCols; i = isSymmetric ? i+2 : i+1) {
+            int col = moveOrder[i];
+            if(!board.fullColumn(col) && !contains(cols, first, col))
+                cols[n++] = col;
+        }
+
+        // Insertion sort by history score: being stable, it keeps moveOrder among columns with the same score
+        long[][] h = history[board.currentPlayer()];
+        for(int i = first + 1; i < n; i++){
+            int col = cols[i];
+            long score = h[board.freeRow(col)][col];
+            int k = i - 1;
+            while(k >= first && h[board.freeRow(cols[k])][cols[k]] < score){
+                cols[k + 1] = cols[k];
+                k--;
+            }
+            cols[k + 1] = col;
+        }
+        cols[numOfCols] = n;
+        return cols;
     }
 
-    // Add new data to the transposition table. If the table capacity exceeds the maximum allowed,
-    // the oldest entry in the table is removed.
-    void updateTransTable(Long hash, int[] newRes)  throws TimeoutException{
-        checktime();
+    // Checks whether col is among the first n columns of cols
+    private static boolean contains(int[] cols, int n, int col){
+        for(int i = 0; i < n; i++)
+            if(cols[i] == col)
+                return true;
+        return false;
+    }
 
-        // remove oldest entry if necessary
-        if (transTable.size() >= transTableCapacity) {
-            Long firstKey = transTable.keySet().iterator().next();
-            transTable.remove(firstKey);
+    // Records a column which caused a cutoff: it becomes the first killer of the ply, and its history score grows
+    // with the square of the remaining depth, so that cutoffs near the root weigh more
+    private void storeCutoff(CXBoard board, int col, int ply, int depth){
+        if(killers[ply][0] != col){
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = col;
         }
+        history[board.currentPlayer()][board.freeRow(col)][col] += (long)depth * depth;
+    }
+
+    // At each move the killers are forgotten and the history scores halved, so that recent cutoffs count more
+    private void ageHeuristics(){
+        if(killers != null)
+            for(int[] k : killers)
+                Arrays.fill(k, -1);
+        for(long[][] rows : history)
+            for(long[] h : rows)
+                for(int j = 0; j < numOfCols; j++)
+                    h[j] /= 2;
+    }
 
-        transTable.put(hash, newRes);
+    // Checks if the transposition table contains an entry for the position with the given key, searched at least
+    // as deep as depth. If so, it returns it, otherwise it returns 0.
+    long checkTransTable(long hash, int depth)throws TimeoutException {
+        checktime();
+        long saved = transTable.probe(hash);
+        if(saved != 0 && CXTranspositionTable.depth(saved) >= depth)
+            return saved;
+        else
+            return 0;
+    }
+
+    // Add new data to the transposition table, with the bound type of the score. If the bucket of the position is
+    // full, the table decides which entry to replace, preferring the deepest searches.
+    void updateTransTable(long hash, int score, int col, int depth, int bound)  throws TimeoutException{
+        checktime();
+        transTable.store(hash, score, col, depth, bound);
     }
 
     private int heuristic(CXBoard board) throws TimeoutException {
@@ -372,6 +471,13 @@ public class IDPlayerHeur implements CXPlayer {
             throw new TimeoutException();
     }
 
+    /**
+     * Returns the number of nodes searched to select the last column
+     */
+    public long searchedNodes() {
+        return nodes;
+    }
+
     public String playerName() {
         return "IDPlayerHeur";
     }
@@ -18,154 +18,20 @@
 
 package connectx.L5;
 
-import connectx.CXPlayer;
-import connectx.CXBoard;
-import connectx.CXGameState;
-import connectx.CXCell;
-import connectx.CXCellState;
-
-import java.util.TreeSet;
-import java.util.Random;
-import java.util.concurrent.TimeoutException;
-import java.util.HashMap;
-
-import java.util.Arrays;
+import connectx.FixedDepthPlayer.FixedDepthPlayer;
 
 /**
- * Software player only a bit smarter than random.
+ * Software player searching the game tree up to depth 6 with alpha-beta
+ * pruning.
  * <p>
- * It can detect a single-move win or loss. In all the other cases behaves
- * randomly.
+ * Open configurations at depth 6 are evaluated as draws. The search can be
+ * configured with the system properties of <code>FixedDepthPlayer</code>.
  * </p>
  */
-public class L5 implements CXPlayer {
-
-    private Random rand;
-    private CXGameState myWin;
-    private CXGameState yourWin;
-    private int TIMEOUT;
-    private long START;
-
-    int M; //rows
-    int N; //cols
-    int K;
-    boolean first;
-
-    int depth;
+public class L5 extends FixedDepthPlayer {
 
     /* Default empty constructor */
     public L5() {
-    }
-
-    public void initPlayer(int M, int N, int K, boolean first, int timeout_in_secs) {
-        // New random seed for each game
-        rand = new Random(System.currentTimeMillis());
-        myWin = first ? CXGameState.WINP1 : CXGameState.WINP2;
-        yourWin = first ? CXGameState.WINP2 : CXGameState.WINP1;
-        TIMEOUT = timeout_in_secs;
-
-        this.M = M;
-        this.N = N;
-        this.K = K;
-
-        this.first = first;
-
-        this.depth = 6;
-
-        //transTableCapacity = 500;
-        //transTable = new HashMap<>(transTableCapacity);
-    }
-
-    /**
-     * Selects a free colum on game board.
-     * <p>
-     * Selects a winning column (if any), otherwise selects a column (if any)
-     * that prevents the adversary to win with his next move. If both previous
-     * cases do not apply, selects a random column.
-     * </p>
-     */
-    public int selectColumn(CXBoard B) {
-        START = System.currentTimeMillis(); // Save starting time
-
-        int alpha = Integer.MIN_VALUE;
-        int beta = Integer.MAX_VALUE;
-        int player = B.currentPlayer();
-        Integer[] L = B.getAvailableColumns();
-
-        try{
-            return alphaBeta(B, B.getAvailableColumns(), depth, player,  alpha, beta, depth)[1];
-        }catch(TimeoutException e){
-            System.err.println("Timeout L" + (depth - 1) + ", random column returned");
-            return L[rand.nextInt(L.length)];
-        }
-    }
-
-    private int[] alphaBeta(CXBoard board, Integer[] L, int depth, int player, int alpha, int beta, int d) throws TimeoutException {
-
-        if (board.gameState() != CXGameState.OPEN) {
-            if (board.gameState() == CXGameState.DRAW)
-                return new int[] {0, -1};
-            else
-                return new int[] {((board.gameState() == myWin) ? Integer.MAX_VALUE : Integer.MIN_VALUE), -1};
-        } else if (depth == 0)
-            //return new int[]{heuristic(board), -1};
-            return new int[]{0, -1};
-
-        int bestScore, bestCol = L[rand.nextInt(L.length)];
-
-        // If it's the maximizing player's turn, initialize the best score to the smallest possible value
-        if (board.currentPlayer() == player) {
-            bestScore = Integer.MIN_VALUE;
-            // Iterate over all possible moves and recursively evaluate each one
-            for (int col : L) {
-                checktime();
-                board.markColumn(col);
-                int[] eval = alphaBeta(board, board.getAvailableColumns(), depth - 1, player, alpha, beta, depth);
-                if (eval[0] > bestScore) {
-                    bestScore = eval[0];
-                    bestCol = col;
-                    //shortestPathToWin = eval[2] + 1;
-                }
-                board.unmarkColumn();
-                alpha = Math.max(alpha, bestScore);
-                if (beta <= alpha)
-                    break; // Beta cutoff
-            }
-        }
-        // If it's the minimizing player's turn, initialize the best score to the largest possible value
-        else {
-            bestScore = Integer.MAX_VALUE;
-            // Iterate over all possible moves and recursively evaluate each one
-            for (int col : L) {
-                checktime();
-                board.markColumn(col);
-                int[] eval = alphaBeta(board, board.getAvailableColumns(), depth - 1, player, alpha, beta, depth);
-                board.unmarkColumn();
-
-                if (eval[0] < bestScore) {
-                    bestScore = eval[0];
-                    bestCol = col;
-                }
-                beta = Math.min(beta, bestScore);
-                if (beta <= alpha)
-                    break; // Alpha cutoff
-            }
-        }
-        /*
-        if(alpha == Integer.MIN_VALUE || beta == Integer.MAX_VALUE)
-            return new int[]{bestScore, bestCol, longestPathToBest};
-        else
-            return new int[]{bestScore, bestCol, shortestPathToWin};
-         */
-        return new int[]{bestScore, bestCol};
-    }
-
-    private void checktime() throws TimeoutException {
-        if ((System.currentTimeMillis() - START) / 1000.0 >= TIMEOUT * (99.0 / 100.0))
-            throw new TimeoutException();
-    }
-
-    public String playerName() {
-        return "L5";
+        super("L5", 6);
     }
 }
@@ -23,11 +23,11 @@ import connectx.CXBoard;
 import connectx.CXGameState;
 import connectx.CXCell;
 import connectx.CXCellState;
+import connectx.CXTranspositionTable;
 
 import java.util.TreeSet;
 import java.util.Random;
 import java.util.concurrent.TimeoutException;
-import java.util.LinkedHashMap;
 import java.util.Arrays;
 
 /**
@@ -47,16 +47,11 @@ public class MFPlayer implements CXPlayer {
 
 	// Array containing the column visit order. Priority is assigned to central columns
 	int[] moveOrder;
-	// Table of values used to calculate hash key
-	long[][][] zobristTable;
+	// Seed of the Zobrist keys used by the boards to hash positions. The same seed is used at every move, so that
+	// the transposition table entries stay valid for the whole game
+	long zobristSeed;
 	// Transposition table to save evaluation of calculated configurations
-	LinkedHashMap<Long, int[]> transTable;
-	// The maximum allowed size for the transposition table
-	int maxTTSize = 20000000;
-	// The size of the transposition table used (the dimension it is initialized to, not the actual number of entries)
-	int transTableSize;
-	// Key identifying the current board configuration. Used to save values in transposition table
-	long hashKey;
+	CXTranspositionTable transTable;
 
 	// Game settings
 	int numOfRows; //rows
@@ -82,7 +77,7 @@ public class MFPlayer implements CXPlayer {
 		this.first = first;
 
 		initMoveOrder();
-		initZobristTable();
+		zobristSeed = rand.nextLong();
 		initTransTable();
 	}
 
@@ -97,34 +92,13 @@ public class MFPlayer implements CXPlayer {
 		}
 	}
 
-	// Initialize the table used for Zobrist hashing and set the hash key to zero
-	private void initZobristTable(){
-		zobristTable = new long[numOfRows][numOfCols][2];
-		for (int r = 0; r < numOfRows; r++) {
-			for (int c = 0; c < numOfCols; c++) {
-				for (int p = 0; p < 2; p++) {
-					zobristTable[r][c][p] = rand.nextLong();
-				}
-			}
-		}
-		hashKey = 0;
-	}
-
 	// Initialize the transposition table
 	private void initTransTable(){
 		int desiredMemoryDepth = 8; // parameter to calculate the desired capacity of the table
+		int desiredCapacity = (int)Math.pow(numOfCols, desiredMemoryDepth); // how many entries we'd like to have at most in the table
 
-		if(Math.round(Math.pow(maxTTSize * 3 / 4, 1.0 / 8.0)) < numOfCols)
-			transTableSize = maxTTSize;
-		else{
-			int desiredCapacity = (int)Math.pow(numOfCols, desiredMemoryDepth); // how many entries we'd like to have at most in the table
-			transTableSize = desiredCapacity * 4 / 3; // the necessary size to have desiredCapacity entries and load factor <= 0.75
-		}
-
-		// load factor set to 1 because
-		// 1) no rehashing will be done
-		// 2) the load factor won't be controlled the table itself
-		transTable = new LinkedHashMap<Long, int[]>(transTableSize, 1);
+		// the table never takes more than the memory budget set with -Dcx.tt.mb
+		transTable = CXTranspositionTable.allocate(desiredCapacity, CXTranspositionTable.budgetMB());
 	}
 
 	/**
@@ -138,8 +112,8 @@ public class MFPlayer implements CXPlayer {
 	public int selectColumn(CXBoard B) {
 		START = System.currentTimeMillis(); // Save starting time
 
-		CXBoard copyOfBoard = B.copy(); //save original board
-		hashKey = updateHashKey(copyOfBoard, hashKey); //update hashKey to include opposer move
+		B.enableHashing(zobristSeed); // the board keeps the position key up to date from now on
+		transTable.newSearch();
 
 		// parametres for Iterative Deepening
 		int alpha = Integer.MIN_VALUE;
@@ -147,23 +121,17 @@ public class MFPlayer implements CXPlayer {
 		int player = B.currentPlayer();
 
 		// compute best choice for current configuration
-		int choice = ID(B, player, alpha, beta, hashKey);
-
-		// update hashKey to include player move
-		copyOfBoard.markColumn(choice);
-		hashKey = updateHashKey(copyOfBoard, hashKey);
-
-		return choice;
+		return ID(B, player, alpha, beta);
 	}
 
-	private int ID(CXBoard board, int player, int alpha, int beta, long hashKey) {
+	private int ID(CXBoard board, int player, int alpha, int beta) {
 		int bestSavedScore = Integer.MIN_VALUE; // initialize bestScore to loss
 		int bestSavedCol = board.getAvailableColumns()[0]; // save random column
 		int freeCells = board.numOfFreeCells(); //maximum depth that can be searched
 
 		try{
 			for (int depth = 1; depth <= freeCells; depth++) {
-				int[] eval = alphaBeta(board, depth, player, alpha, beta, hashKey);
+				int[] eval = alphaBeta(board, depth, player, alpha, beta);
 				if(eval[0] == Integer.MIN_VALUE) // if inevitable loss is discovered,
 					break; // maintain previous best choice so to positicipate the loss
 				else{
@@ -178,7 +146,7 @@ public class MFPlayer implements CXPlayer {
 		return bestSavedCol;
 	}
 
-	private int[] alphaBeta(CXBoard board, int depth, int player, int alpha, int beta, long hashKey) throws TimeoutException {
+	private int[] alphaBeta(CXBoard board, int depth, int player, int alpha, int beta) throws TimeoutException {
 
 		// Evaluate leaf / open configuration reached at depth = 0
 		if (board.gameState() != CXGameState.OPEN) {
@@ -190,14 +158,14 @@ public class MFPlayer implements CXPlayer {
 			return new int[]{0, -1}; // treat open configuration as a draw
 
 		// Check transposition table and return saved data if found
-		int[] saved = checkTransTable(hashKey);
-		if(saved != null)
-			return saved;
+		long saved = checkTransTable(board.canonicalHash());
+		if(saved != 0) // entries are saved in canonical orientation
+			return new int[]{CXTranspositionTable.score(saved), board.canonicalColumn(CXTranspositionTable.move(saved))};
 
 		int bestScore, bestCol = -1, colsToCheck;
 
 		// Symmetry check
-		boolean isSymmetric = isSymmetric(board);
+		boolean isSymmetric = board.isSymmetric();
 
 		// If it's the player's turn, initialize the best score to the smallest possible value
 		if (board.currentPlayer() == player) {
@@ -208,13 +176,11 @@ public class MFPlayer implements CXPlayer {
 					continue;
 				checktime();
 				board.markColumn(col);
-				hashKey = updateHashKey(board, hashKey);
-				int[] eval = alphaBeta(board, depth - 1, player, alpha, beta, hashKey);
+				int[] eval = alphaBeta(board, depth - 1, player, alpha, beta);
 				if (eval[0] > bestScore) {
 					bestScore = eval[0];
 					bestCol = col;
 				}
-				hashKey = updateHashKey(board, hashKey); // Undo changes to hashKey by xoring again with same value
 				board.unmarkColumn();
 				alpha = Math.max(alpha, bestScore);
 				if (beta <= alpha)
@@ -230,13 +196,11 @@ public class MFPlayer implements CXPlayer {
 					continue;
 				checktime();
 				board.markColumn(col);
-				hashKey = updateHashKey(board, hashKey);
-				int[] eval = alphaBeta(board,depth - 1, player, alpha, beta, hashKey);
+				int[] eval = alphaBeta(board,depth - 1, player, alpha, beta);
 				if (eval[0] < bestScore) {
 					bestScore = eval[0];
 					bestCol = col;
 				}
-				hashKey = updateHashKey(board, hashKey); // Undo changes to hashKey by xoring again with same value
 				board.unmarkColumn();
 				beta = Math.min(beta, bestScore);
 				if (beta <= alpha)
@@ -246,52 +210,23 @@ public class MFPlayer implements CXPlayer {
 
 		// Save data in transposition table if winning / losing configuration is found
 		if(bestScore == Integer.MIN_VALUE || bestScore == Integer.MAX_VALUE)
-			updateTransTable(hashKey, new int[]{bestScore, bestCol});
+			updateTransTable(board.canonicalHash(), bestScore, board.canonicalColumn(bestCol), CXTranspositionTable.MAX_DEPTH);
 
 		return new int[]{bestScore, bestCol};
 	}
 
-	// Returns true if the board configuration is symmetric
-	boolean isSymmetric(CXBoard board)throws TimeoutException{
+	// Checks if the transposition table contains an entry for the position with the given key. If so, it returns it,
+	// otherwise it returns 0.
+	long checkTransTable(long hash)throws TimeoutException {
 		checktime();
-		CXCell[] MC = board.getMarkedCells();
-		for(CXCell cell : MC){
-			if(board.cellState(cell.i, numOfCols - cell.j - 1) != cell.state)
-				return false;
-		}
-		return true;
-	}
-
-	// Update hashKey to include last move. Returns the updated hashKey
-	long updateHashKey(CXBoard board, long hashKey){
-		CXCell lastMove = board.getLastMove();
-		if(lastMove != null) {
-			int lastPlayer = (lastMove.state == CXCellState.P1) ? 0 : 1;
-			hashKey ^= zobristTable[lastMove.i][lastMove.j][lastPlayer];
-		}
-		return hashKey;
+		return transTable.probe(hash);
 	}
 
-	// Checks if the transposition table contains an entry with hash as key. If so, it makes it the newest element of the
-	// table and it returns it. Otherwise, it returns null.
-	int[] checkTransTable(Long hash)throws TimeoutException {
+	// Add new data to the transposition table. If the bucket of the position is full, the table decides which
+	// entry to replace, preferring the deepest searches.
+	void updateTransTable(long hash, int score, int col, int depth) throws TimeoutException{
 		checktime();
-		int[] saved = transTable.get(hash);
-		if(saved != null)
-			transTable.put(hash, saved); // make the entry the newest in the table
-		return saved;
-	}
-
-	// Add new data to the transposition table. If the table capacity exceeds the maximum allowed,
-	// the oldest entry in the table is removed.
-	void updateTransTable(Long hash, int[] newRes) throws TimeoutException{
-		checktime();
-		// remove oldest entry if load factor exceeds optimal value
-		if (transTable.size() > transTableSize*0.75) {
-			Long firstKey = transTable.keySet().iterator().next();
-			transTable.remove(firstKey);
-		}
-		transTable.put(hash, newRes);
+		transTable.store(hash, score, col, depth, CXTranspositionTable.EXACT);
 	}
 
 	private int heuristic(CXBoard board) throws TimeoutException {
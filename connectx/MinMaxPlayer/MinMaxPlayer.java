@@ -50,6 +50,11 @@ public class MinMaxPlayer implements CXPlayer {
 	int K;
 	boolean first;
 
+	// Maximum search depth
+	int depth = 12;
+	// Available columns of the nodes being searched, one array per remaining depth
+	int[][] moves;
+
 	/* Default empty constructor */
 	public MinMaxPlayer() {
 	}
@@ -66,6 +71,7 @@ public class MinMaxPlayer implements CXPlayer {
 		this.K = K;
 
 		this.first = first;
+		this.moves = new int[depth + 1][N];
 	}
 
 	// order columns based on height
@@ -133,13 +139,12 @@ public class MinMaxPlayer implements CXPlayer {
 		int alpha = Integer.MIN_VALUE; // -1?
 		int beta = Integer.MAX_VALUE; // 1?
 
-		int depth = 12;
 		int player = B.currentPlayer();
 		// minmaxing code here for each column in the avaible ones
 		try {
 			for (int col : L) { // for each column
 				B.markColumn(col);
-				int value = minimax(B, B.getAvailableColumns(), depth, player, alpha, beta);
+				int value = minimax(B, depth, player, alpha, beta);
 				B.unmarkColumn();
 				if (value >= bestValue) {
 					bestValue = value;
@@ -163,7 +168,7 @@ public class MinMaxPlayer implements CXPlayer {
 			throw new TimeoutException();
 	}
 
-	public int minimax(CXBoard board, Integer[] L, int depth, int player, int alpha, int beta) throws TimeoutException {
+	public int minimax(CXBoard board, int depth, int player, int alpha, int beta) throws TimeoutException {
 		// check if the time is enough
 		checktime();
 		// Check if the game is over or if the depth limit has been reached
@@ -174,15 +179,18 @@ public class MinMaxPlayer implements CXPlayer {
 
 
 		int bestScore;
+		int[] L = moves[depth];
+		int n = board.fillAvailableColumns(L);
 
 		// If it's the maximizing player's turn, initialize the best score to the smallest possible value
 		if (board.currentPlayer() == player) {
 			bestScore = Integer.MIN_VALUE;
 
 			// Iterate over all possible moves and recursively evaluate each one
-			for (int i : L) {
+			for (int k = 0; k < n; k++) {
+				int i = L[k];
 				board.markColumn(i);
-				int score = minimax(board, board.getAvailableColumns(), depth - 1, player, alpha, beta);
+				int score = minimax(board, depth - 1, player, alpha, beta);
 				board.unmarkColumn();
 				bestScore = Math.max(bestScore, score);
 				alpha = Math.max(alpha, score); // bestScore??
@@ -196,9 +204,10 @@ public class MinMaxPlayer implements CXPlayer {
 			bestScore = Integer.MAX_VALUE;
 
 			// Iterate over all possible moves and recursively evaluate each one
-			for (int i : L) {
+			for (int k = 0; k < n; k++) {
+				int i = L[k];
 				board.markColumn(i);
-				int score = minimax(board, board.getAvailableColumns(),depth - 1, player, alpha, beta);
+				int score = minimax(board, depth - 1, player, alpha, beta);
 				board.unmarkColumn();
 				bestScore = Math.min(bestScore, score);
 				beta = Math.min(beta, score);
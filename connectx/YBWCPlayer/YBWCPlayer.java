@@ -0,0 +1,269 @@
+/*
+ *  Copyright (C) 2022 Lamberto Colazzo
+ *
+ *  This file is part of the ConnectX software developed for the
+ *  Intern ship of the course "Information technology", University of Bologna
+ *  A.Y. 2021-2022.
+ *
+ *  ConnectX is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This  is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details; see <https://www.gnu.org/licenses/>.
+ */
+
+package connectx.YBWCPlayer;
+
+import connectx.CXPlayer;
+import connectx.CXBoard;
+import connectx.CXGameState;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Software player searching the game tree in parallel with the Young
+ * Brothers Wait Concept.
+ * <p>
+ * At each node the first column is searched alone. Unless it causes a
+ * cutoff, the other columns are then searched in parallel by the tasks of a
+ * <code>ForkJoinPool</code>, each one on its own copy of the board. When a
+ * column causes a cutoff, the searches of the columns after it are aborted.
+ * </p>
+ * <p>
+ * The search uses no transposition table, and the window of each parallel
+ * search is fixed when it is forked, so the result does not depend on the
+ * order in which the tasks end: with a fixed depth (<code>-Dcx.ybwc.depth</code>)
+ * the selected column is the same at every run, whatever the number of
+ * threads (<code>-Dcx.threads</code>).
+ * </p>
+ */
+public class YBWCPlayer implements CXPlayer {
+
+    private CXGameState myWin;
+    private CXGameState yourWin;
+    private int TIMEOUT;
+    private long START;
+
+    // Array containing the column visit order. Priority is assigned to central columns
+    int[] moveOrder;
+    // Number of threads of the search, set with -Dcx.threads (all the processors by default)
+    int numOfThreads = Integer.getInteger("cx.threads", Runtime.getRuntime().availableProcessors());
+    // Depth of the search, set with -Dcx.ybwc.depth. With 0 the search deepens until the timeout
+    int fixedDepth = Integer.getInteger("cx.ybwc.depth", 0);
+    // Nodes with at least this remaining depth search their younger brothers in parallel, the others search serially
+    static final int MIN_SPLIT_DEPTH = 4;
+    // Threads running the search, kept from one game to the next
+    ForkJoinPool pool;
+
+    // Game settings
+    int numOfRows; //rows
+    int numOfCols; //cols
+    int K; // coins to aligne in order to win
+    boolean first; // whether the agent is the first player or not
+
+
+    /* Default empty constructor */
+    public YBWCPlayer() {
+    }
+
+    public void initPlayer(int M, int N, int K, boolean first, int timeout_in_secs) {
+        myWin = first ? CXGameState.WINP1 : CXGameState.WINP2;
+        yourWin = first ? CXGameState.WINP2 : CXGameState.WINP1;
+        TIMEOUT = timeout_in_secs;
+
+        this.numOfRows = M;
+        this.numOfCols = N;
+        this.K = K;
+        this.first = first;
+
+        initMoveOrder();
+        if(pool == null)
+            pool = new ForkJoinPool(Math.max(numOfThreads, 1));
+    }
+
+    // Save the desired move order in array. Columns closer to the centre of the table are examined first
+    private void initMoveOrder(){
+        moveOrder = new int[numOfCols];
+        for(int i = 0; i < numOfCols; i++){
+            if(i % 2 == 0)
+                moveOrder[i] = numOfCols/2 + i/2;
+            else
+                moveOrder[i] = numOfCols/2 - i/2 - 1;
+        }
+    }
+
+    /**
+     * Selects a free colum on game board.
+     * <p>
+     * Searches the game tree with iterative deepening, up to the fixed depth
+     * if one is set, and selects the best column of the deepest completed
+     * search. Among columns with the same score, the first one in the visit
+     * order is selected.
+     * </p>
+     */
+    public int selectColumn(CXBoard B) {
+        START = System.currentTimeMillis(); // Save starting time
+
+        return ID(B, B.currentPlayer());
+    }
+
+    private int ID(CXBoard board, int player) {
+        int bestSavedCol = board.getAvailableColumns()[0]; // save random column
+        int maxDepth = board.numOfFreeCells(); //maximum depth that can be searched
+        if(fixedDepth > 0)
+            maxDepth = Math.min(fixedDepth, maxDepth);
+
+        try{
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                int[] eval = pool.invoke(new Search(board.copy(), depth, player, Integer.MIN_VALUE, Integer.MAX_VALUE, null, 0));
+                if(eval[0] == Integer.MIN_VALUE) // if inevitable loss is discovered,
+                    break; // maintain previous best choice so to positicipate the loss
+                bestSavedCol = eval[1];
+                if(eval[0] == Integer.MAX_VALUE) // if winning situation is discovered, break
+                    break;
+            }
+        } catch (Abort e) { } // timeout
+
+        return bestSavedCol;
+    }
+
+    // Alpha-beta search of a node reached by the branch index of split (split is null for the root). Columns are
+    // searched in moveOrder; at nodes deep enough, the columns after the first one are searched in parallel
+    private int[] search(CXBoard board, int depth, int player, int alpha, int beta, Split split, int index) {
+        checkStop(split, index);
+
+        // Evaluate leaf / open configuration reached at depth = 0
+        if (board.gameState() != CXGameState.OPEN) {
+            if (board.gameState() == CXGameState.DRAW)
+                return new int[] {0, -1}; // -1 is a placeholder
+            else
+                return new int[] {((board.gameState() == myWin) ? Integer.MAX_VALUE : Integer.MIN_VALUE), -1};
+        } else if (depth == 0)
+            return new int[]{0, -1}; // treat open configuration as a draw
+
+        // In symmetric configurations only one column of each mirrored pair is searched
+        boolean isSymmetric = board.isSymmetric();
+        int[] cols = new int[numOfCols];
+        int n = 0;
+        for (int i = 0; i < numOfCols; i = isSymmetric ? i+2 : i+1)
+            if(!board.fullColumn(moveOrder[i]))
+                cols[n++] = moveOrder[i];
+
+        boolean isMax = board.currentPlayer() == player;
+        int bestScore = isMax ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestCol = -1;
+
+        // Young Brothers Wait: the first column is searched before any parallel search starts
+        int serial = depth >= MIN_SPLIT_DEPTH ? 1 : n;
+        for (int k = 0; k < serial; k++) {
+            board.markColumn(cols[k]);
+            int score = search(board, depth - 1, player, alpha, beta, split, index)[0];
+            board.unmarkColumn();
+            if (isMax ? score > bestScore : score < bestScore) {
+                bestScore = score;
+                bestCol = cols[k];
+            }
+            if (isMax)
+                alpha = Math.max(alpha, bestScore);
+            else
+                beta = Math.min(beta, bestScore);
+            if (beta <= alpha)
+                return new int[]{bestScore, bestCol}; // cutoff
+        }
+        if (serial == n)
+            return new int[]{bestScore, bestCol};
+
+        // The younger brothers are searched in parallel, all with the window left by the first column
+        Split node = new Split(split, index, isMax);
+        Search[] tasks = new Search[n - serial];
+        for (int k = serial; k < n; k++) {
+            CXBoard child = board.copy();
+            child.markColumn(cols[k]);
+            tasks[k - serial] = new Search(child, depth - 1, player, alpha, beta, node, k);
+            tasks[k - serial].fork();
+        }
+
+        // Results are combined in column order, so that ties and cutoffs do not depend on the order the tasks end
+        for (int k = serial; k < n; k++) {
+            int score = tasks[k - serial].join()[0];
+            if (isMax ? score > bestScore : score < bestScore) {
+                bestScore = score;
+                bestCol = cols[k];
+            }
+            if (isMax ? bestScore >= beta : bestScore <= alpha)
+                break; // cutoff: the tasks after this one have been aborted
+        }
+        return new int[]{bestScore, bestCol};
+    }
+
+    // Stops the search on timeout, or when a column before the branch being searched caused a cutoff at one of
+    // the split nodes above
+    private void checkStop(Split split, int index) {
+        if ((System.currentTimeMillis() - START) / 1000.0 >= TIMEOUT * (99.0 / 100.0))
+            throw new Abort();
+        for (; split != null; index = split.index, split = split.parent)
+            if (split.cut.get() < index)
+                throw new Abort();
+    }
+
+    // Task searching a node on its own copy of the board
+    private class Search extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        final CXBoard board;
+        final int depth, player, alpha, beta;
+        final Split split; // split node whose branch index leads to this node
+        final int index;
+
+        Search(CXBoard board, int depth, int player, int alpha, int beta, Split split, int index) {
+            this.board = board;
+            this.depth = depth;
+            this.player = player;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.split = split;
+            this.index = index;
+        }
+
+        @Override
+        protected int[] compute() {
+            int[] eval = search(board, depth, player, alpha, beta, split, index);
+            if (split != null && (split.isMax ? eval[0] >= beta : eval[0] <= alpha))
+                split.cut.accumulateAndGet(index, Math::min); // abort the branches after this one
+            return eval;
+        }
+    }
+
+    // Node whose children are searched by parallel tasks
+    private static class Split {
+        final Split parent; // split node above this one, null for the root
+        final int index; // branch of parent leading to this node
+        final boolean isMax; // whether the player maximizes at this node
+        final AtomicInteger cut = new AtomicInteger(Integer.MAX_VALUE); // first branch which caused a cutoff
+
+        Split(Split parent, int index, boolean isMax) {
+            this.parent = parent;
+            this.index = index;
+            this.isMax = isMax;
+        }
+    }
+
+    // Thrown to unwind a search which has been stopped
+    private static class Abort extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Abort() {
+            super(null, null, false, false); // no stack trace: aborts are frequent
+        }
+    }
+
+    public String playerName() {
+        return "YBWCPlayer";
+    }
+}